@@ -233,14 +233,21 @@ const SearchBar = ({ onSearch = () => {} }) => {
       setSearch(""); setSuggestions([]); onSearch();
     };
   
+    const suggestionLink = (s) => {
+      if (s.type === "PRODUCT") return `/product/${s.productId}`;
+      if (s.type === "CATEGORY") return `/category/${encodeURIComponent(s.text)}`;
+      if (s.type === "SUB_CATEGORY") return `/category/${encodeURIComponent(s.category)}/${encodeURIComponent(s.text)}`;
+      return `/search?q=${encodeURIComponent(s.text)}`;
+    };
+
     const fetchSuggestions = async (query) => {
       if (query.length < 2) {
         setSuggestions([]);
         return;
       }
       try {
-        const res = await axiosInstance.get(`/products/search?q=${query}`);
-        setSuggestions(res.data.slice(0, 5));
+        const res = await axiosInstance.get(`/products/suggest?prefix=${encodeURIComponent(query)}&limit=5`);
+        setSuggestions(res.data || []);
       } catch (err) { console.error("Search error:", err); }
     };
     
@@ -262,10 +269,10 @@ const SearchBar = ({ onSearch = () => {} }) => {
             className="absolute top-14 left-0 w-full bg-white dark:bg-slate-800 text-slate-800 dark:text-slate-200 border border-slate-200 dark:border-slate-700 rounded-lg shadow-lg max-h-60 overflow-y-auto z-50"
           >
             {suggestions.map((s) => (
-              <Link key={s.id || s._id} to={`/product/${s.id || s._id}`}
+              <Link key={`${s.type}-${s.productId || s.category || ""}-${s.text}`} to={suggestionLink(s)}
                 className="block px-4 py-2.5 text-sm hover:bg-indigo-50 dark:hover:bg-slate-700 first:rounded-t-lg last:rounded-b-lg"
                 onClick={() => {setSuggestions([]); setSearch(""); onSearch();}}>
-                {s.name}
+                {s.text}
               </Link>
             ))}
           </motion.div>
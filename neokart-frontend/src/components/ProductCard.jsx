@@ -14,12 +14,17 @@ const ProductCard = ({ product, rating, onViewDetails, onAddToCart }) => {
   };
 
   const getPrimaryImage = () => {
-    if (!product.images || product.images.length === 0) {
+    let imagePath;
+    if (product.images && product.images.length > 0) {
+      const primary = product.images.find((img) => img.primary);
+      imagePath = primary ? primary.imageUrl : product.images[0].imageUrl;
+    } else if (product.imageUrl) {
+      // list/search summaries carry only the primary image
+      imagePath = product.imageUrl;
+    } else {
       return "/placeholder.png";
     }
 
-    const primary = product.images.find((img) => img.primary);
-    const imagePath = primary ? primary.imageUrl : product.images[0].imageUrl;
     const normalizedPath = imagePath.startsWith("/") ? imagePath : `/${imagePath}`;
 
     return `${BASE_URL}${normalizedPath}`;
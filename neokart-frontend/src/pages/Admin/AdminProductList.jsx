@@ -156,13 +156,13 @@ const handleManageVariants = (id) => {
     toast.success("PDF file downloaded");
   };
 
-  // ✅ Get product image
+  // ✅ Get product image (the list endpoint sends only the primary image as imageUrl)
   const getMainImage = (product) => {
-    if (!product.images || product.images.length === 0)
-      return "/no-image.png";
-    const mainImg =
-      product.images.find((img) => img.primary) || product.images[0];
-    return `http://localhost:4000${mainImg.imageUrl}`;
+    if (!product.imageUrl) return "/no-image.png";
+    const path = product.imageUrl.startsWith("/")
+      ? product.imageUrl
+      : `/${product.imageUrl}`;
+    return `http://localhost:4000${path}`;
   };
 
   return (
@@ -9,6 +9,7 @@ const BulkUpload = () => {
   const [file, setFile] = useState(null);
   const [loading, setLoading] = useState(false);
   const [response, setResponse] = useState("");
+  const [upsert, setUpsert] = useState(false);
 
   const handleFileChange = (e) => {
     setFile(e.target.files[0]);
@@ -24,6 +25,7 @@ const BulkUpload = () => {
     setLoading(true);
     const formData = new FormData();
     formData.append("file", file);
+    formData.append("mode", upsert ? "UPSERT" : "INSERT");
 
     try {
       const res = await axios.post("http://localhost:4000/api/products/bulk-upload", formData, {
@@ -33,9 +35,12 @@ const BulkUpload = () => {
         },
       });
 
-      setResponse(res.data.message || "✅ Upload successful!");
-      toast.success(res.data.message || "Upload successful!");
+      setResponse(res.data.message || "✅ Upload accepted!");
+      toast.success("Upload accepted, importing...");
       setFile(null);
+      if (res.data.jobId) {
+        await pollJob(res.data.jobId);
+      }
     } catch (err) {
       console.error(err);
       setResponse(err.response?.data?.error || "❌ Upload failed!");
@@ -45,6 +50,34 @@ const BulkUpload = () => {
     }
   };
 
+  // Import runs in the background; poll until the job finishes
+  const pollJob = async (jobId) => {
+    while (true) {
+      await new Promise((resolve) => setTimeout(resolve, 1500));
+      const { data: job } = await axios.get(
+        `http://localhost:4000/api/products/bulk-upload/${jobId}`,
+        { headers: { Authorization: `Bearer ${localStorage.getItem("adminToken")}` } }
+      );
+
+      if (job.status === "COMPLETED") {
+        const message = job.mode === "UPSERT"
+          ? `✅ ${job.rowsImported} added, ${job.rowsUpdated} updated, ${job.rowsUnchanged} unchanged` +
+            (job.rowsRejected > 0 ? `, ${job.rowsRejected} rows rejected` : "")
+          : `✅ ${job.rowsImported} products uploaded successfully` +
+            (job.rowsRejected > 0 ? ` (${job.rowsRejected} rows rejected)` : "");
+        setResponse(message);
+        toast.success(message);
+        return;
+      }
+      if (job.status === "FAILED") {
+        setResponse(`❌ Import failed after ${job.rowsImported} products: ${job.errorMessage || "unknown error"}`);
+        toast.error("Import failed!");
+        return;
+      }
+      setResponse(`⏳ Importing... ${job.rowsRead} rows read, ${job.rowsImported} imported, ${job.rowsRejected} rejected`);
+    }
+  };
+
   return (
     <div className="flex min-h-screen bg-gray-100">
       {/* Sidebar */}
@@ -78,6 +111,15 @@ const BulkUpload = () => {
             {file && <p className="mt-3 text-gray-600 text-sm">{file.name}</p>}
           </div>
 
+          <label className="flex items-center justify-center gap-2 mb-6 text-sm text-gray-600">
+            <input
+              type="checkbox"
+              checked={upsert}
+              onChange={(e) => setUpsert(e.target.checked)}
+            />
+            Update existing products with the same SKU instead of adding duplicates
+          </label>
+
           <div className="flex flex-col sm:flex-row justify-center gap-4">
             <button
               onClick={handleUpload}
@@ -88,7 +130,7 @@ const BulkUpload = () => {
                   : "bg-indigo-600 hover:bg-indigo-700"
               }`}
             >
-              {loading ? "Uploading..." : "Upload CSV"}
+              {loading ? "Importing..." : "Upload CSV"}
             </button>
 
             <a
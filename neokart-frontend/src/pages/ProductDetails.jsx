@@ -55,10 +55,11 @@ const ProductDetails = () => {
         setProduct(res.data);
 
         if (res.data.category) {
+          // Cached top-N for this product (already excludes it), not the whole category
           const relRes = await axiosInstance.get(
-            `/products/category/${encodeURIComponent(res.data.category)}`
+            `/products/related/${encodeURIComponent(res.data.category)}/${res.data.id}`
           );
-          setRelated(relRes.data.filter((p) => p.id !== res.data.id).slice(0, 4));
+          setRelated(relRes.data.slice(0, 4));
         }
       } catch (err) {
         toast.error("Failed to load product details");
@@ -113,7 +114,7 @@ const ProductDetails = () => {
   const images = product.images || [];
   const mainImage =
     images.length > 0
-      ? `${BASE_URL}${images[mainImageIndex].imageUrl}`
+      ? `${BASE_URL}${images[mainImageIndex].largeUrl || images[mainImageIndex].imageUrl}`
       : `${BASE_URL}${product.imageUrl}`;
 
   const DESCRIPTION_LIMIT = 250;
@@ -173,7 +174,7 @@ const ProductDetails = () => {
                 {images.map((img, i) => (
                   <img
                     key={i}
-                    src={`${BASE_URL}${img.imageUrl}`}
+                    src={`${BASE_URL}${img.thumbnailUrl || img.imageUrl}`}
                     onClick={() => setMainImageIndex(i)}
                     className={`w-20 h-20 object-cover rounded cursor-pointer border ${
                       i === mainImageIndex
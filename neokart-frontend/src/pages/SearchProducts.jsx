@@ -20,7 +20,7 @@ const SearchProducts = () => {
 
       try {
         const res = await axiosInstance.get(`/products/search?q=${encodeURIComponent(query)}`);
-        setProducts(Array.isArray(res.data) ? res.data : []);
+        setProducts(Array.isArray(res.data?.content) ? res.data.content : []);
       } catch (err) {
         console.error("Search error:", err);
         setError("Failed to load search results.");
@@ -21,9 +21,11 @@ const ProductCard = ({ product, index }) => {
   const BASE_URL = "http://localhost:4000";
 
   // Handle multiple images from backend (first + hover)
+  // (list endpoints send only the primary image as imageUrl)
   const images = product.images || [];
-  const mainImage = images[0]?.imageUrl
-    ? `${BASE_URL}/${images[0].imageUrl.replace(/^\/+/, "")}`
+  const mainImagePath = images[0]?.imageUrl || product.imageUrl;
+  const mainImage = mainImagePath
+    ? `${BASE_URL}/${mainImagePath.replace(/^\/+/, "")}`
     : "/placeholder.png";
   const hoverImage = images[1]?.imageUrl
     ? `${BASE_URL}/${images[1].imageUrl.replace(/^\/+/, "")}`
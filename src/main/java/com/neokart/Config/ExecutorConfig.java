@@ -0,0 +1,72 @@
+package com.neokart.Config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Background executors. Each workload gets its own small pool so a long
+ * catalog import can't starve anything else.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    // Bulk imports run one at a time; queued jobs wait their turn (they are persisted anyway)
+    @Bean(name = "importExecutor")
+    public ThreadPoolTaskExecutor importExecutor(@Value("${neokart.import.workers:1}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("product-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    // CSV row validation: bounded queue, and the import thread validates a slice
+    // itself when the queue is full instead of buffering without limit
+    @Bean(name = "importValidationExecutor")
+    public ThreadPoolTaskExecutor importValidationExecutor(
+            @Value("${neokart.import.validation-threads:0}") int threads) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(size * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("import-validate-");
+        return executor;
+    }
+
+    // Image renditions are CPU heavy; when the queue is full the uploading request does the work
+    @Bean(name = "imageExecutor")
+    public ThreadPoolTaskExecutor imageExecutor(@Value("${neokart.images.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(500);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("image-rendition-");
+        return executor;
+    }
+
+    // Outgoing email. Each worker holds one SMTP connection, so the pool size caps open
+    // connections. A full queue rejects (TaskRejectedException) rather than running the task
+    // on the submitter: that could be the shared scheduler thread
+    @Bean(name = "emailExecutor")
+    public ThreadPoolTaskExecutor emailExecutor(@Value("${neokart.email.workers:2}") int workers,
+            @Value("${neokart.email.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("email-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+}
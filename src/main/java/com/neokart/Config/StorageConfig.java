@@ -0,0 +1,41 @@
+package com.neokart.Config;
+
+import java.net.URI;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.neokart.Storage.BlobStore;
+import com.neokart.Storage.LocalBlobStore;
+import com.neokart.Storage.S3BlobStore;
+
+/**
+ * Picks the image BlobStore from neokart.storage.type: "local" (default) keeps
+ * files in file.upload-dir, "s3" uses an S3-compatible bucket so any number of
+ * app instances can share the images.
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "neokart.storage.type", havingValue = "local", matchIfMissing = true)
+    public BlobStore localBlobStore(@Value("${file.upload-dir:uploads}") String uploadDir) {
+        return new LocalBlobStore(Paths.get(uploadDir));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "neokart.storage.type", havingValue = "s3")
+    public BlobStore s3BlobStore(
+            @Value("${neokart.storage.s3.endpoint}") String endpoint,
+            @Value("${neokart.storage.s3.bucket}") String bucket,
+            @Value("${neokart.storage.s3.region:us-east-1}") String region,
+            @Value("${neokart.storage.s3.access-key}") String accessKey,
+            @Value("${neokart.storage.s3.secret-key}") String secretKey) {
+        System.out.println("🪣 Product images stored in bucket " + bucket + " at " + endpoint);
+        return new S3BlobStore(URI.create(endpoint), bucket, region, accessKey, secretKey);
+    }
+
+}
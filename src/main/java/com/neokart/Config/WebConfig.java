@@ -1,10 +1,20 @@
 package com.neokart.Config;
 
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -12,10 +22,78 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
+    // Content-addressed uploads (uploads/<hh>/<sha256>...) never change under the same URL
+    private static final Pattern CONTENT_HASH = Pattern.compile("^[0-9a-f]{64}");
+
+    // EncodedResourceResolver's default file extensions per Content-Encoding
+    private static final Map<String, String> ENCODED_EXTENSIONS = Map.of("gzip", ".gz", "br", ".br");
+
+    @Value("${neokart.storage.type:local}")
+    private String storageType;
+
+    @Value("${neokart.uploads.legacy-max-age-hours:24}")
+    private long legacyMaxAgeHours;
+
+    /**
+     * Both handlers answer conditional requests (ETag / Last-Modified) with 304,
+     * honour Range headers and serve a .br/.gz sibling when the client accepts it.
+     * The resource chain is not cached: a stat per request is cheap, and the
+     * resolver cache would grow with every image and outlive deleted files.
+     *
+     * Only for local storage; with object storage UploadsController redirects
+     * /uploads to presigned bucket URLs instead.
+     */
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + uploadDir + "/");
+        if (!"local".equals(storageType)) return;
+
+        String location = "file:" + uploadDir + "/";
+
+        // Hashed files in sub directories: cache for a year, no revalidation
+        registry.addResourceHandler("/uploads/*/**")
+                .addResourceLocations(location)
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .setUseLastModified(true)
+                .setEtagGenerator(WebConfig::uploadEtag)
+                .resourceChain(false)
+                .addResolver(new EncodedResourceResolver());
+
+        // Files from before content addressing, and the shared default image, can be replaced in place
+        registry.addResourceHandler("/uploads/*")
+                .addResourceLocations(location)
+                .setCacheControl(CacheControl.maxAge(legacyMaxAgeHours, TimeUnit.HOURS).cachePublic())
+                .setUseLastModified(true)
+                .setEtagGenerator(WebConfig::uploadEtag)
+                .resourceChain(false)
+                .addResolver(new EncodedResourceResolver());
+    }
+
+    // The hash in the file name when there is one, else size + mtime; no file is read either way.
+    // A .gz/.br variant gets its encoding appended: it is different bytes, so it needs its own
+    // strong ETag (otherwise a cache could answer a Range request with bytes of the wrong one).
+    private static String uploadEtag(Resource resource) {
+        String name = resource.getFilename();
+        if (name == null) return null;
+        String encoding = resource instanceof HttpResource http
+                ? http.getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)
+                : null;
+        String suffix = "";
+        if (encoding != null) {
+            suffix = "-" + encoding;
+            String extension = ENCODED_EXTENSIONS.getOrDefault(encoding, "");
+            if (!extension.isEmpty() && name.endsWith(extension)) {
+                name = name.substring(0, name.length() - extension.length());
+            }
+        }
+
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        if (CONTENT_HASH.matcher(base).find()) return base + suffix;
+        try {
+            return Long.toHexString(resource.contentLength()) + "-" + Long.toHexString(resource.lastModified()) + suffix;
+        } catch (IOException e) {
+            return null;
+        }
     }
 
     @Override
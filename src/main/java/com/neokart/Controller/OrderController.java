@@ -18,7 +18,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.neokart.Entity.Order;
-import com.neokart.Services.EmailService;
 import com.neokart.Services.OrderService;
 import com.neokart.Services.OrderService.OrderItemRequest;
 
@@ -38,9 +37,6 @@ public class OrderController {
 	 @Autowired
 	    private OrderService orderService;
 
-	    @Autowired
-	    private EmailService emailService;
-
 	    // Wrapper DTO for order items list
 	    @Data
 	    public static class OrderRequest {
@@ -61,21 +57,7 @@ public class OrderController {
 	            orderRequest.getShippingAddress()
 	        );
 
-	        try {
-	            // Always take user's registered email from DB
-	            String userEmail = order.getUser().getEmail();
-	            String userName = order.getUser().getName();
-
-	            emailService.sendOrderPlacedEmail(
-	                userEmail,
-	                userName,
-	                order.getId(),
-	                order.getTotalPrice()
-	            );
-	        } catch (Exception e) {
-	            e.printStackTrace();
-	        }
-
+	        // The order-placed email was queued in the order's transaction (outbox)
 	        return ResponseEntity.ok(order);
 	    }
 
@@ -110,7 +92,7 @@ public class OrderController {
 	        @RequestParam Long orderId,
 	        @RequestParam String newStatus) {
 
-	        Order updatedOrder = orderService.updateOrderStatus(orderId, newStatus, emailService);
+	        Order updatedOrder = orderService.updateOrderStatus(orderId, newStatus);
 	        return ResponseEntity.ok(updatedOrder);
 	    }
 
@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,13 +24,22 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.neokart.DTO.CursorPageResponse;
 import com.neokart.DTO.PageResponse;
+import com.neokart.DTO.ProductDetailDto;
+import com.neokart.DTO.ProductSuggestionDto;
+import com.neokart.DTO.ProductSummaryDto;
 import com.neokart.DTO.ProductWithRatingDTO;
 import com.neokart.DTO.RatingRequest;
 import com.neokart.DTO.RatingResponse;
 import com.neokart.Entity.Product;
+import com.neokart.Entity.ProductImportJob;
+import com.neokart.Entity.ProductImportRejection;
 import com.neokart.Entity.ProductRating;
 import com.neokart.Entity.User;
+import com.neokart.Enum.ImportMode;
+import com.neokart.Services.CategoryTreeCache;
+import com.neokart.Services.ProductImportService;
 import com.neokart.Services.ProductService;
 
 @RestController
@@ -43,25 +53,33 @@ public class ProductConroller {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductImportService productImportService;
+
     @GetMapping("/all")
-    public ResponseEntity<List<Product>> getAllProducts() {
+    public ResponseEntity<List<ProductSummaryDto>> getAllProducts() {
         return ResponseEntity.ok(productService.getAllProducts());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        Product product = productService.getProductById(id);
+    public ResponseEntity<ProductDetailDto> getProductById(@PathVariable Long id) {
+        ProductDetailDto product = productService.getProductDetail(id);
         if (product == null) return ResponseEntity.notFound().build();
         return ResponseEntity.ok(product);
     }
 
+    // Categories carry an ETag; Spring answers a matching If-None-Match with 304
     @GetMapping("/categories")
     public ResponseEntity<List<String>> getAllCategories() {
-        return ResponseEntity.ok(productService.getAllCategories());
+        CategoryTreeCache.Snapshot tree = productService.getCategoryTree();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(tree.getEtag())
+                .body(tree.getCategories());
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable String category) {
+    public ResponseEntity<List<ProductSummaryDto>> getProductsByCategory(@PathVariable String category) {
         return ResponseEntity.ok(productService.getProductsByCategory(category));
     }
 
@@ -85,6 +103,18 @@ public class ProductConroller {
         return ResponseEntity.ok(response);
     }
 
+    // Keyset mode: selected when "after" is present (empty for the first page)
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageResponse<ProductSummaryDto>> getFilteredProductsAfter(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "rating_desc") String sortBy,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(productService.getProductsAfter(category, sortBy, after, size, includeTotal));
+    }
+
     @GetMapping("/{productId}/ratings")
     public ResponseEntity<List<RatingResponse>> getProductRatings(@PathVariable Long productId) {
         Product product = productService.getProductById(productId);
@@ -188,11 +218,15 @@ public class ProductConroller {
     //  CATEGORIES & SUB 
     @GetMapping("/categories-with-subcategories")
     public ResponseEntity<List<Map<String, Object>>> getCategoriesWithSubCategories() {
-        return ResponseEntity.ok(productService.getCategoriesWithSubCategories());
+        CategoryTreeCache.Snapshot tree = productService.getCategoryTree();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(tree.getEtag())
+                .body(tree.getTree());
     }
 
     @GetMapping("/category/{category}/{subcategory}")
-    public ResponseEntity<List<Product>> getProductsByCategoryAndSubcategory(
+    public ResponseEntity<List<ProductSummaryDto>> getProductsByCategoryAndSubcategory(
             @PathVariable String category,
             @PathVariable String subcategory
     ) {
@@ -201,11 +235,34 @@ public class ProductConroller {
 
 // Search
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam String q) {
+    public ResponseEntity<PageResponse<ProductSummaryDto>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
         if (q == null || q.trim().isEmpty()) {
-            return ResponseEntity.badRequest().body(List.of());
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(productService.searchProducts(q.trim()));
+        Page<ProductSummaryDto> results = productService.searchProducts(q.trim(), page, size);
+
+        PageResponse<ProductSummaryDto> response = new PageResponse<>(
+                results.getContent(),
+                results.getNumber(),
+                results.getSize(),
+                results.getTotalElements(),
+                results.getTotalPages(),
+                results.isLast()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+// Type-ahead suggestions
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDto>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit
+    ) {
+        return ResponseEntity.ok(productService.suggest(prefix, limit));
     }
 
 //// Bulk Add 
@@ -223,13 +280,17 @@ public class ProductConroller {
 //                    .body(Map.of("error", "⚠️ " + e.getMessage()));
 //        }
 //    }
- // ✅ Bulk Upload from CSV
+ // ✅ Bulk Upload from CSV: queued as a background job, poll /bulk-upload/{jobId} for progress
     @PostMapping("/bulk-upload")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> uploadBulkProducts(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> uploadBulkProducts(@RequestParam("file") MultipartFile file,
+                                                @RequestParam(defaultValue = "INSERT") ImportMode mode,
+                                                Principal principal) {
         try {
-            int savedCount = productService.saveProductsFromCsv(file);
-            return ResponseEntity.ok(Map.of("message", "✅ " + savedCount + " products uploaded successfully"));
+            ProductImportJob job = productImportService.submit(file, mode, principal != null ? principal.getName() : null);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                    "message", "✅ Upload accepted, import job " + job.getId() + " queued",
+                    "jobId", job.getId()));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "❌ Failed to process file: " + e.getMessage()));
@@ -239,12 +300,34 @@ public class ProductConroller {
         }
     }
     
+    @GetMapping("/bulk-upload/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductImportJob> getBulkUploadStatus(@PathVariable Long jobId) {
+        return ResponseEntity.ok(productImportService.getJob(jobId));
+    }
+
+    @GetMapping("/bulk-upload/{jobId}/rejected")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageResponse<ProductImportRejection>> getBulkUploadRejections(
+            @PathVariable Long jobId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<ProductImportRejection> rejections = productImportService.getRejections(jobId, page, Math.min(size, 500));
+        return ResponseEntity.ok(new PageResponse<>(
+                rejections.getContent(),
+                rejections.getNumber(),
+                rejections.getSize(),
+                rejections.getTotalElements(),
+                rejections.getTotalPages(),
+                rejections.isLast()));
+    }
+
     @GetMapping("/related/{category}/{productId}")
-    public ResponseEntity<List<ProductWithRatingDTO>> getRelatedWithRating(
+    public ResponseEntity<List<ProductSummaryDto>> getRelatedProducts(
             @PathVariable String category,
             @PathVariable Long productId
     ) {
-        return ResponseEntity.ok(productService.getRelatedWithRating(category, productId));
+        return ResponseEntity.ok(productService.getRelatedProducts(category, productId));
     }
 
 
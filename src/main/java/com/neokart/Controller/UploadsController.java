@@ -0,0 +1,54 @@
+package com.neokart.Controller;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import com.neokart.Storage.BlobStore;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * With object storage, /uploads/** answers with a redirect to a presigned
+ * URL so the image itself is downloaded straight from the bucket. (With local
+ * storage WebConfig serves the files and this controller isn't registered.)
+ */
+@RestController
+@ConditionalOnProperty(name = "neokart.storage.type", havingValue = "s3")
+public class UploadsController {
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${neokart.storage.s3.presign-ttl-minutes:60}")
+    private long presignTtlMinutes;
+
+    @GetMapping("/uploads/**")
+    public ResponseEntity<Void> redirect(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = BlobStore.keyOf(UriUtils.decode(path, "UTF-8"));
+        if (key == null || key.isBlank() || key.contains("..")) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Duration ttl = Duration.ofMinutes(presignTtlMinutes);
+        URI location = blobStore.presignedGet(key, ttl).orElse(null);
+        if (location == null) return ResponseEntity.notFound().build();
+
+        // Browsers may reuse the redirect for half the signature's lifetime
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(location)
+                .cacheControl(CacheControl.maxAge(ttl.dividedBy(2)).cachePrivate())
+                .build();
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.neokart.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int pageSize;
+    private String nextCursor;   // pass back as "after"; null on the last page
+    private boolean last;
+    private Long totalElements;  // only when includeTotal=true
+
+}
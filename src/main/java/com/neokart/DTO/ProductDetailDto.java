@@ -0,0 +1,32 @@
+package com.neokart.DTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Fully assembled product page: no lazy collections left for Jackson to trip over.
+// Individual ratings stay on /api/products/{id}/ratings; only the aggregates live here.
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ProductDetailDto {
+
+    private Long id;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Integer stock;
+    private String sku;
+    private String category;
+    private String subCategory;
+    private Double averageRating;
+    private Long ratingCount;
+    private List<ProductImageDto> images;
+    private List<ProductVariantDto> variants;
+
+}
@@ -0,0 +1,21 @@
+package com.neokart.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ProductImageDto {
+
+    private Long id;
+    private String imageUrl;
+    private String thumbnailUrl;
+    private String mediumUrl;
+    private String largeUrl;
+    private boolean isPrimary;
+
+}
@@ -0,0 +1,27 @@
+package com.neokart.DTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One validated CSV row on its way to the bulk importer; imageUrls[0] is the primary image
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ProductImportRow {
+
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Integer stock;
+    private String sku;
+    private String category;
+    private String subCategory;
+    private List<String> imageUrls;
+
+}
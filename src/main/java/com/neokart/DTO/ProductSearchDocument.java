@@ -0,0 +1,22 @@
+package com.neokart.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Searchable columns of a product (plus rating for ranking), loaded without touching its collections
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchDocument {
+
+    private Long id;
+    private String name;
+    private String description;
+    private String category;
+    private String subCategory;
+    private String sku;
+    private Double averageRating;
+    private Long ratingCount;
+
+}
@@ -0,0 +1,17 @@
+package com.neokart.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSuggestionDto {
+
+    private String text;
+    private String type;      // PRODUCT, CATEGORY or SUB_CATEGORY
+    private Long productId;   // PRODUCT only
+    private String category;  // parent category of a SUB_CATEGORY
+
+}
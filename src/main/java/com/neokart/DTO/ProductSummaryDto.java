@@ -0,0 +1,27 @@
+package com.neokart.DTO;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Lightweight list-view projection: no collections, only the primary image
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSummaryDto {
+
+    private Long id;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Integer stock;
+    private String category;
+    private String subCategory;
+    private String sku;
+    private String imageUrl;
+    private Double averageRating;
+    private Long ratingCount;
+
+}
@@ -0,0 +1,25 @@
+package com.neokart.DTO;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ProductVariantDto {
+
+    private Long id;
+    private String variantName;
+    private String color;
+    private String size;
+    private String storage;
+    private BigDecimal price;
+    private int stock;
+    private String sku;
+
+}
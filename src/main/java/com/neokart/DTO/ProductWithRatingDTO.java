@@ -13,5 +13,6 @@ public class ProductWithRatingDTO {
 	
     private Product product;
     private Double averageRating;
+    private Long ratingCount;
 
 }
@@ -0,0 +1,36 @@
+package com.neokart.Entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One stored image file, named by its SHA-256; refCount = ProductImage rows pointing at it
+@Entity
+@Table(name = "image_blobs")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ImageBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;        // lower-case hex SHA-256 of the file content
+
+    @Column(nullable = false, length = 10)
+    private String extension;
+
+    private long sizeBytes;
+
+    private long refCount;
+
+    private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,64 @@
+package com.neokart.Entity;
+
+import java.time.LocalDateTime;
+
+import com.neokart.Enum.OutboxMessageType;
+import com.neokart.Enum.OutboxStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A side effect (email, later SMS / webhooks) recorded in the same transaction
+ * as the change that caused it, and delivered afterwards by OutboxDispatcher.
+ */
+@Entity
+@Table(name = "outbox_messages", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, nextAttemptAt")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private OutboxMessageType type;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;         // JSON
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Builder.Default
+    private int attempts = 0;
+
+    // Due time while PENDING; pushed forward while a dispatcher holds the message
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+}
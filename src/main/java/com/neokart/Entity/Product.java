@@ -12,6 +12,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -20,7 +21,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_price", columnList = "price, id"),
+        @Index(name = "idx_products_category_price", columnList = "category, price, id"),
+        @Index(name = "idx_products_rating", columnList = "averageRating, id"),
+        @Index(name = "idx_products_category_rating", columnList = "category, averageRating, id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -47,6 +53,19 @@ public class Product {
     private String category; // simple string category (or map to Category entity)
     private String subCategory;   // e.g., "HP", "Dell"
 
+    // Rating aggregates, kept in step with ProductRating by ProductService.addRating
+    @Column(nullable = false)
+    @Builder.Default
+    private Long ratingCount = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Double averageRating = 0.0;
+
     // Ratings relationship (unchanged)
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL)
     private List<com.neokart.Entity.ProductRating> ratings;
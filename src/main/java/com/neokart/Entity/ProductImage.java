@@ -4,6 +4,7 @@ import jakarta.persistence.Id;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -31,6 +32,15 @@ public class ProductImage {
 
     private String imageUrl;
 
+    // SHA-256 of the stored file (see ImageBlob); null for images uploaded before content addressing
+    @Column(length = 64)
+    private String contentHash;
+
+    // Resized renditions, filled in by ImageRenditionService after upload (null until then)
+    private String thumbnailUrl;
+    private String mediumUrl;
+    private String largeUrl;
+
     private boolean isPrimary;
 
     @ManyToOne(fetch = FetchType.LAZY)
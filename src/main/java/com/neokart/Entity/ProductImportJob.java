@@ -0,0 +1,73 @@
+package com.neokart.Entity;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.neokart.Enum.ImportJobStatus;
+import com.neokart.Enum.ImportMode;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "product_import_jobs")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ProductImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String fileName;      // as uploaded
+
+    @JsonIgnore
+    private String storedPath;    // server-side copy, removed once the job finishes
+
+    private String requestedBy;   // admin email
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImportJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private ImportMode mode = ImportMode.INSERT;
+
+    // Committed together with each chunk, so a restarted job resumes after rowsRead
+    @Builder.Default
+    private long rowsRead = 0;
+
+    @Builder.Default
+    private long rowsImported = 0;   // new products
+
+    @Builder.Default
+    private long rowsUpdated = 0;    // UPSERT only
+
+    @Builder.Default
+    private long rowsUnchanged = 0;  // UPSERT only
+
+    @Builder.Default
+    private long rowsRejected = 0;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+}
@@ -0,0 +1,34 @@
+package com.neokart.Entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "product_import_rejections", indexes = {
+        @Index(name = "idx_import_rejections_job", columnList = "jobId, csvRow")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ProductImportRejection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long jobId;
+
+    private long csvRow;      // 1-based, header excluded (row_number is reserved in MySQL 8)
+
+    private String reason;
+
+}
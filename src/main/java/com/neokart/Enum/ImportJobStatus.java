@@ -0,0 +1,10 @@
+package com.neokart.Enum;
+
+public enum ImportJobStatus {
+
+	QUEUED,
+	RUNNING,
+	COMPLETED,
+	FAILED
+
+}
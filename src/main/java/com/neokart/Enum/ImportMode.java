@@ -0,0 +1,8 @@
+package com.neokart.Enum;
+
+public enum ImportMode {
+
+	INSERT,   // every row becomes a new product
+	UPSERT    // rows are matched to existing products by SKU
+
+}
@@ -0,0 +1,8 @@
+package com.neokart.Enum;
+
+public enum OutboxMessageType {
+
+	ORDER_PLACED_EMAIL,
+	ORDER_STATUS_EMAIL
+
+}
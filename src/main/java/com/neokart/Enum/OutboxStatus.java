@@ -0,0 +1,9 @@
+package com.neokart.Enum;
+
+public enum OutboxStatus {
+
+	PENDING,
+	SENT,
+	FAILED
+
+}
@@ -0,0 +1,54 @@
+package com.neokart.Event;
+
+import java.util.List;
+
+import com.neokart.Entity.Product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by ProductService whenever catalog data changes. Listeners that keep
+ * in-memory read models (search index, caches) use @TransactionalEventListener so
+ * they only see committed changes.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    public enum Type {
+        SAVED,
+        DELETED,
+        RATED,
+        STOCK, // only stock levels moved (checkout / cancellation)
+        IMAGES // only image renditions were added
+    }
+
+    private final Type type;
+    private final List<Product> products;
+
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(Type.SAVED, List.of(product));
+    }
+
+    public static ProductChangedEvent saved(List<Product> products) {
+        return new ProductChangedEvent(Type.SAVED, products);
+    }
+
+    public static ProductChangedEvent deleted(Product product) {
+        return new ProductChangedEvent(Type.DELETED, List.of(product));
+    }
+
+    public static ProductChangedEvent rated(Product product) {
+        return new ProductChangedEvent(Type.RATED, List.of(product));
+    }
+
+    public static ProductChangedEvent stockChanged(List<Product> products) {
+        return new ProductChangedEvent(Type.STOCK, products);
+    }
+
+    public static ProductChangedEvent imagesChanged(List<Product> products) {
+        return new ProductChangedEvent(Type.IMAGES, products);
+    }
+
+}
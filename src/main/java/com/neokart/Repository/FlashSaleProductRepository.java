@@ -1,9 +1,23 @@
 package com.neokart.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.neokart.Entity.FlashSaleProduct;
 
 public interface FlashSaleProductRepository extends JpaRepository<FlashSaleProduct, Long>{
 
+    // Products in a sale that is switched on and running right now
+    @Query("""
+            SELECT DISTINCT fp.product.id FROM FlashSaleProduct fp
+            WHERE fp.flashSale.status = true
+              AND fp.flashSale.startDatetime <= :now
+              AND fp.flashSale.endDatetime > :now
+            """)
+    List<Long> findProductIdsOnSale(@Param("now") LocalDateTime now);
+
 }
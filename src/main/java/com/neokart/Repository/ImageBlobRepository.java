@@ -0,0 +1,42 @@
+package com.neokart.Repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.neokart.Entity.ImageBlob;
+
+import jakarta.persistence.LockModeType;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    // Single atomic statement, so two uploads of the same new file can't race on the insert
+    @Modifying
+    @Query(value = """
+            INSERT INTO image_blobs (hash, extension, size_bytes, ref_count, created_at)
+            VALUES (:hash, :extension, :sizeBytes, 1, NOW())
+            ON DUPLICATE KEY UPDATE ref_count = ref_count + 1
+            """, nativeQuery = true)
+    int addReference(@Param("hash") String hash, @Param("extension") String extension,
+                     @Param("sizeBytes") long sizeBytes);
+
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.refCount = b.refCount - 1 WHERE b.hash = :hash AND b.refCount > 0")
+    int removeReference(@Param("hash") String hash);
+
+    // Returns 1 when this call removed the last reference's row
+    @Modifying
+    @Query("DELETE FROM ImageBlob b WHERE b.hash = :hash AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+
+    // FOR UPDATE: waits for an uncommitted upload of the same content, and on a missing row
+    // the gap lock holds off new uploads of it until the caller's transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ImageBlob b WHERE b.hash = :hash")
+    Optional<ImageBlob> lockByHash(@Param("hash") String hash);
+
+}
@@ -0,0 +1,32 @@
+package com.neokart.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.neokart.Entity.OutboxMessage;
+import com.neokart.Enum.OutboxStatus;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // FOR UPDATE SKIP LOCKED: several dispatchers (or instances) never pick the same message
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT m FROM OutboxMessage m
+            WHERE m.status = :status AND m.nextAttemptAt <= :now
+            ORDER BY m.nextAttemptAt, m.id
+            """)
+    List<OutboxMessage> lockDue(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now,
+                                Pageable pageable);
+
+}
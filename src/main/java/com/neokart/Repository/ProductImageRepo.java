@@ -1,9 +1,35 @@
 package com.neokart.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.neokart.Entity.ProductImage;
 
 public interface ProductImageRepo extends JpaRepository<ProductImage,Long>{
 
+    // Uploaded images that have no renditions yet; the shared placeholder is skipped
+    @Query("""
+            SELECT i FROM ProductImage i
+            WHERE i.product.id IN :productIds
+            AND i.thumbnailUrl IS NULL
+            AND i.imageUrl LIKE '/uploads/%'
+            AND i.imageUrl <> :placeholderUrl
+            """)
+    List<ProductImage> findMissingRenditions(@Param("productIds") Collection<Long> productIds,
+                                             @Param("placeholderUrl") String placeholderUrl);
+
+    @Modifying
+    @Query("""
+            UPDATE ProductImage i
+            SET i.thumbnailUrl = :thumbnailUrl, i.mediumUrl = :mediumUrl, i.largeUrl = :largeUrl
+            WHERE i.id = :id
+            """)
+    int updateRenditions(@Param("id") Long id, @Param("thumbnailUrl") String thumbnailUrl,
+                         @Param("mediumUrl") String mediumUrl, @Param("largeUrl") String largeUrl);
+
 }
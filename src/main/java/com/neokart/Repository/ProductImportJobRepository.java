@@ -0,0 +1,30 @@
+package com.neokart.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.neokart.Entity.ProductImportJob;
+import com.neokart.Enum.ImportJobStatus;
+
+public interface ProductImportJobRepository extends JpaRepository<ProductImportJob, Long> {
+
+    List<ProductImportJob> findByStatusInOrderById(Collection<ImportJobStatus> statuses);
+
+    // Runs inside each chunk's transaction so progress and imported rows commit together
+    @Modifying
+    @Query("""
+            UPDATE ProductImportJob j
+            SET j.rowsRead = :rowsRead, j.rowsImported = :rowsImported, j.rowsUpdated = :rowsUpdated,
+                j.rowsUnchanged = :rowsUnchanged, j.rowsRejected = :rowsRejected
+            WHERE j.id = :id
+            """)
+    int updateProgress(@Param("id") Long id, @Param("rowsRead") long rowsRead,
+                       @Param("rowsImported") long rowsImported, @Param("rowsUpdated") long rowsUpdated,
+                       @Param("rowsUnchanged") long rowsUnchanged, @Param("rowsRejected") long rowsRejected);
+
+}
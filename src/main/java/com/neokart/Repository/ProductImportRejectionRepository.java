@@ -0,0 +1,13 @@
+package com.neokart.Repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.neokart.Entity.ProductImportRejection;
+
+public interface ProductImportRejectionRepository extends JpaRepository<ProductImportRejection, Long> {
+
+    Page<ProductImportRejection> findByJobIdOrderByCsvRow(Long jobId, Pageable pageable);
+
+}
@@ -1,14 +1,20 @@
 package com.neokart.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import com.neokart.DTO.ProductWithRatingDTO;
+import com.neokart.DTO.ProductSearchDocument;
+import com.neokart.DTO.ProductSummaryDto;
 import com.neokart.Entity.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -17,7 +23,11 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 	
 	
     Page<Product> findByNameContainingIgnoreCase(String q, Pageable pageable);
-    Page<Product> findByCategoryIgnoreCase(String category, Pageable pageable);
+    // Plain equality so the (category, sort key, id) indexes serve filter and ORDER BY together;
+    // the column's collation already compares case-insensitively
+    @Query(value = "SELECT p FROM Product p WHERE p.category = :category",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category = :category")
+    Page<Product> findPageByCategory(@Param("category") String category, Pageable pageable);
     List<Product> findTop10ByOrderByIdDesc();
     
     
@@ -25,12 +35,20 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     Page<Product> findAll(Pageable pageable);
     
     
+    // Product page: images come back in the same statement (see ProductDetailCache)
+    @EntityGraph(attributePaths = "images")
+    Optional<Product> findWithImagesById(Long id);
+
     @Query("SELECT p FROM Product p WHERE LOWER(p.category) = LOWER(:category)")
     List<Product> findByCategoryIgnoreCase(@Param("category") String category);  
     
     @Query("SELECT DISTINCT p.category FROM Product p WHERE p.category IS NOT NULL")
     List<String> findDistinctCategories();
 
+    // [category, subCategory] pairs for the navigation tree
+    @Query("SELECT DISTINCT p.category, p.subCategory FROM Product p WHERE p.category IS NOT NULL")
+    List<Object[]> findDistinctCategoryPairs();
+
     List<Product> findByCategoryIgnoreCaseAndSubCategoryIgnoreCase(String category, String subCategory);
 	List<Product> findByCategory(String category);
 
@@ -40,18 +58,163 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         String name, String category, String subCategory
     );
 
-    // Find by category with pagination
-    
+    // Search/suggest index rebuild: walks the table in id order without loading collections
+    @Query("""
+            SELECT new com.neokart.DTO.ProductSearchDocument(
+                p.id, p.name, p.description, p.category, p.subCategory, p.sku, p.averageRating, p.ratingCount)
+            FROM Product p
+            WHERE p.id > :afterId
+            ORDER BY p.id
+            """)
+    List<ProductSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+            SELECT new com.neokart.DTO.ProductSearchDocument(
+                p.id, p.name, p.description, p.category, p.subCategory, p.sku, p.averageRating, p.ratingCount)
+            FROM Product p
+            WHERE p.id IN :ids
+            """)
+    List<ProductSearchDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // List-view projection: plain columns plus the primary image's thumbnail (falling back to
+    // the original, then to any image), all in one statement so list endpoints never touch
+    // entity collections
+    String SUMMARY_SELECT = """
+            SELECT new com.neokart.DTO.ProductSummaryDto(
+                p.id, p.name, p.description, p.price, p.stock, p.category, p.subCategory, p.sku,
+                COALESCE(
+                    (SELECT MIN(COALESCE(i.thumbnailUrl, i.imageUrl)) FROM ProductImage i
+                        WHERE i.product = p AND i.isPrimary = true),
+                    (SELECT MIN(COALESCE(i2.thumbnailUrl, i2.imageUrl)) FROM ProductImage i2
+                        WHERE i2.product = p)),
+                p.averageRating, p.ratingCount)
+            FROM Product p
+            """;
+
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<ProductSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY_SELECT + "ORDER BY p.id")
+    List<ProductSummaryDto> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE LOWER(p.category) = LOWER(:category) ORDER BY p.id")
+    List<ProductSummaryDto> findSummariesByCategory(@Param("category") String category);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE LOWER(p.category) = LOWER(:category)
+            AND LOWER(p.subCategory) = LOWER(:subCategory)
+            ORDER BY p.id
+            """)
+    List<ProductSummaryDto> findSummariesByCategoryAndSubCategory(@Param("category") String category,
+                                                                  @Param("subCategory") String subCategory);
+
+    // Keyset (seek) pages of summaries. The first page comes from the *SummaryPage* methods
+    // with a Sort; later pages from the *After* methods. "(key, id) > (k, i)" is spelled
+    // "key >= k AND (key > k OR id > i)": same rows, but the leading bound gives MySQL a range
+    // seek on (key, id) or (category, key, id), so a page costs the same at any depth.
+    // Each filter/direction has its own statement because "(:x IS NULL OR ...)" predicates
+    // can't use an index range. List return types skip the COUNT query that Page would need.
+    @Query(SUMMARY_SELECT)
+    List<ProductSummaryDto> findSummaryPage(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.category = :category")
+    List<ProductSummaryDto> findSummaryPageByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.price >= :afterPrice AND (p.price > :afterPrice OR p.id > :afterId)
+            ORDER BY p.price ASC, p.id ASC
+            """)
+    List<ProductSummaryDto> findPriceAscAfter(@Param("afterPrice") BigDecimal afterPrice,
+                                              @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.category = :category
+            AND p.price >= :afterPrice AND (p.price > :afterPrice OR p.id > :afterId)
+            ORDER BY p.price ASC, p.id ASC
+            """)
+    List<ProductSummaryDto> findPriceAscAfter(@Param("category") String category,
+                                              @Param("afterPrice") BigDecimal afterPrice,
+                                              @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.price <= :afterPrice AND (p.price < :afterPrice OR p.id < :afterId)
+            ORDER BY p.price DESC, p.id DESC
+            """)
+    List<ProductSummaryDto> findPriceDescAfter(@Param("afterPrice") BigDecimal afterPrice,
+                                               @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.category = :category
+            AND p.price <= :afterPrice AND (p.price < :afterPrice OR p.id < :afterId)
+            ORDER BY p.price DESC, p.id DESC
+            """)
+    List<ProductSummaryDto> findPriceDescAfter(@Param("category") String category,
+                                               @Param("afterPrice") BigDecimal afterPrice,
+                                               @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.averageRating >= :afterRating AND (p.averageRating > :afterRating OR p.id > :afterId)
+            ORDER BY p.averageRating ASC, p.id ASC
+            """)
+    List<ProductSummaryDto> findRatingAscAfter(@Param("afterRating") Double afterRating,
+                                               @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.category = :category
+            AND p.averageRating >= :afterRating AND (p.averageRating > :afterRating OR p.id > :afterId)
+            ORDER BY p.averageRating ASC, p.id ASC
+            """)
+    List<ProductSummaryDto> findRatingAscAfter(@Param("category") String category,
+                                               @Param("afterRating") Double afterRating,
+                                               @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.averageRating <= :afterRating AND (p.averageRating < :afterRating OR p.id < :afterId)
+            ORDER BY p.averageRating DESC, p.id DESC
+            """)
+    List<ProductSummaryDto> findRatingDescAfter(@Param("afterRating") Double afterRating,
+                                                @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.category = :category
+            AND p.averageRating <= :afterRating AND (p.averageRating < :afterRating OR p.id < :afterId)
+            ORDER BY p.averageRating DESC, p.id DESC
+            """)
+    List<ProductSummaryDto> findRatingDescAfter(@Param("category") String category,
+                                                @Param("afterRating") Double afterRating,
+                                                @Param("afterId") Long afterId, Pageable pageable);
+
+    long countByCategory(String category);
+
+    // Related products: best rated first, capped by the pageable (see RelatedProductsCache)
+    @Query(SUMMARY_SELECT + """
+            WHERE LOWER(p.category) = LOWER(:category)
+            AND p.id <> :productId
+            ORDER BY p.averageRating DESC, p.id DESC
+            """)
+    List<ProductSummaryDto> findRelatedSummaries(@Param("category") String category,
+                                                 @Param("productId") Long productId, Pageable pageable);
+
+    // Rating aggregates: averageRating is assigned first so it reads the pre-increment
+    // values under both standard SQL and MySQL's left-to-right SET evaluation
+    @Modifying
+    @Query("""
+            UPDATE Product p
+            SET p.averageRating = (p.ratingSum + :stars) * 1.0 / (p.ratingCount + 1),
+                p.ratingSum = p.ratingSum + :stars,
+                p.ratingCount = p.ratingCount + 1
+            WHERE p.id = :productId
+            """)
+    int applyRating(@Param("productId") Long productId, @Param("stars") long stars);
+
+    @Modifying
     @Query("""
-    		SELECT new com.neokart.DTO.ProductWithRatingDTO(p, COALESCE(AVG(r.stars),0))
-    		FROM Product p
-    		LEFT JOIN p.ratings r
-    		WHERE LOWER(p.category)=LOWER(:category)
-    		AND p.id <> :productId
-    		GROUP BY p
-    		ORDER BY AVG(r.stars) DESC
-    		""")
-    		List<ProductWithRatingDTO> findRelatedWithRating(String category, Long productId);
+            UPDATE Product p
+            SET p.ratingCount = (SELECT COUNT(r) FROM ProductRating r WHERE r.product.id = p.id),
+                p.ratingSum = (SELECT COALESCE(SUM(r.stars), 0) FROM ProductRating r WHERE r.product.id = p.id),
+                p.averageRating = (SELECT COALESCE(AVG(r.stars), 0) FROM ProductRating r WHERE r.product.id = p.id)
+            """)
+    int rebuildRatingAggregates();
 
  
 
@@ -3,11 +3,24 @@ package com.neokart.Repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.neokart.DTO.ProductVariantDto;
 import com.neokart.Entity.ProductVarient;
 
 public interface ProductVarientsRepo  extends JpaRepository<ProductVarient,Long>{
 
     List<ProductVarient> findByProductId(Long productId);
 
+    // Column projection so the eager product association is never touched
+    @Query("""
+            SELECT new com.neokart.DTO.ProductVariantDto(
+                v.id, v.variantName, v.color, v.size, v.storage, v.price, v.stock, v.sku)
+            FROM ProductVarient v
+            WHERE v.product.id = :productId
+            ORDER BY v.id
+            """)
+    List<ProductVariantDto> findDtosByProductId(@Param("productId") Long productId);
+
 }
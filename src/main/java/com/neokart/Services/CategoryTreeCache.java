@@ -0,0 +1,88 @@
+package com.neokart.Services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import com.neokart.Event.ProductChangedEvent;
+import com.neokart.Repository.ProductRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Category -> subcategory navigation tree, built from one DISTINCT query and
+ * held until a product is added, updated, deleted or bulk uploaded. The ETag
+ * is a hash of the tree itself, so it stays stable across restarts and nodes.
+ */
+@Component
+public class CategoryTreeCache {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private volatile Snapshot snapshot;
+
+    // Bumped on every invalidation so a load that raced with a write isn't kept
+    private final AtomicLong generation = new AtomicLong();
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final List<String> categories;
+        private final List<Map<String, Object>> tree;
+        private final String etag;
+    }
+
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current != null) return current;
+
+        long loadedAt = generation.get();
+        Snapshot loaded = load();
+        if (generation.get() == loadedAt) {
+            snapshot = loaded;
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ProductChangedEvent.Type.RATED
+                || event.getType() == ProductChangedEvent.Type.STOCK
+                || event.getType() == ProductChangedEvent.Type.IMAGES) return;
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot load() {
+        Map<String, Set<String>> categoryMap = new TreeMap<>();
+        for (Object[] row : productRepository.findDistinctCategoryPairs()) {
+            Set<String> subCategories = categoryMap.computeIfAbsent((String) row[0], k -> new TreeSet<>());
+            if (row[1] != null) subCategories.add((String) row[1]);
+        }
+
+        List<String> categories = new ArrayList<>(categoryMap.keySet());
+        List<Map<String, Object>> tree = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> entry : categoryMap.entrySet()) {
+            tree.add(Map.of(
+                    "category", entry.getKey(),
+                    "subCategories", entry.getValue()
+            ));
+        }
+
+        String etag = "\"" + DigestUtils.md5DigestAsHex(categoryMap.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new Snapshot(List.copyOf(categories), List.copyOf(tree), etag);
+    }
+
+}
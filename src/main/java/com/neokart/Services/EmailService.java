@@ -1,22 +1,116 @@
 	package com.neokart.Services;
 	
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 	
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import com.neokart.Entity.Order;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
 import jakarta.mail.internet.MimeMessage;
 	
+/**
+ * Builds and sends NeoKart's HTML emails. The logo is read from the classpath
+ * once at startup and the templates are constants, so building a message is
+ * just formatting.
+ *
+ * sendAll() is the bulk path (used by the outbox on emailExecutor): every
+ * thread keeps one SMTP connection open and sends message after message over
+ * it, instead of a new session and TLS handshake per email.
+ */
 @Service
 	
 public class EmailService {
 	
+	    private static final String LOGO_CID = "neokartLogo";
+	    private static final String LOGO_PATH = "static/images/NeoKart-logo.png";
+
+	    private static final String WELCOME_TEMPLATE = """
+	        <html>
+	          <body style="font-family: Arial, sans-serif; text-align: center;">
+	            <img src="cid:neokartLogo" alt="NeoKart Logo" style="max-height:80px; margin-bottom:20px;">
+	            <h2 style="color: #FF5722;">Welcome to NeoKart, %s!</h2>
+	            <p style="font-size: 16px; color: #555;">
+	                Your shopping journey starts here. Explore the best products at the best prices.
+	            </p>
+	            <a href="https://neokart.com" style="display: inline-block; background-color: #FF5722; 
+	               color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px; margin-top: 20px;">
+	                Start Shopping
+	            </a>
+	            <p style="margin-top: 30px; font-size: 12px; color: #999;">
+	                &copy; 2025 NeoKart. All rights reserved.
+	            </p>
+	          </body>
+	        </html>
+	        """;
+
+	    private static final String ORDER_PLACED_TEMPLATE = """
+	        <html>
+	          <body style="font-family: Arial, sans-serif;">
+	            <img src="cid:neokartLogo" alt="NeoKart Logo" style="max-height:80px; margin-bottom:20px;">
+	            <h2 style="color: #FF5722;">Hi %s,</h2>
+	            <p>Thank you for your order at NeoKart!</p>
+	            <p>Your order ID is <strong>%d</strong>.</p>
+	            <p>Order Total: <strong>$%.2f</strong></p>
+	          </body>
+	        </html>
+	        """;
+
+	    private static final String ORDER_STATUS_TEMPLATE = """
+	        <html>
+	          <body style="font-family: Arial, sans-serif;">
+	            <img src="cid:neokartLogo" alt="NeoKart Logo" style="max-height:80px; margin-bottom:20px;">
+	            <h2 style="color: #FF5722;">Hello %s,</h2>
+	            <p>Your order with ID <strong>%d</strong> status has been updated.</p>
+	            <p>New Status: <strong>%s</strong></p>
+	            <p>Thank you for shopping with NeoKart!</p>
+	            <a href="https://neokart.com/orders/%d" style="display: inline-block; background-color: #FF5722; 
+	               color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px; margin-top: 20px;">
+	               View Order Details
+	            </a>
+	            <p style="margin-top: 30px; font-size: 12px; color: #999;">&copy; 2025 NeoKart. All rights reserved.</p>
+	          </body>
+	        </html>
+	        """;
+
+	    private static final String LOW_STOCK_TEMPLATE = """
+	        <html>
+	          <body style="font-family: Arial, sans-serif;">
+	            <img src="cid:neokartLogo" alt="NeoKart Logo" style="max-height:80px; margin-bottom:20px;">
+	            <h2 style="color: #E53935;">Low Stock Alert!</h2>
+	            <p>Product: <strong>%s</strong></p>
+	            <p>Current Stock: <strong>%d units</strong></p>
+	            <p>Please restock soon to avoid running out of inventory.</p>
+	            <a href="https://neokart.com/admin/inventory" style="display:inline-block; background-color:#FF5722;
+	               color:white; padding:10px 20px; text-decoration:none; border-radius:5px;">
+	               View Inventory
+	            </a>
+	            <p style="margin-top: 30px; font-size: 12px; color: #999;">&copy; 2025 NeoKart. All rights reserved.</p>
+	          </body>
+	        </html>
+	        """;
 	
 	@Autowired
 	private PdfService invoiceService;
@@ -25,71 +119,57 @@ public class EmailService {
 	@Autowired
 	   
 	private JavaMailSender mailSender;
-	
-	    // ✅ Send Welcome Email
-	    public void sendWelcomeEmail(String toEmail, String userName) {
+
+	@Autowired
+	@Qualifier("emailExecutor")
+	private Executor emailExecutor;
+
+	    private ByteArrayResource logo;
+
+	    // One open connection per sending thread; all of them are tracked so shutdown can close them
+	    private final ThreadLocal<Transport> transports = new ThreadLocal<>();
+	    private final Queue<Transport> openTransports = new ConcurrentLinkedQueue<>();
+
+	    @PostConstruct
+	    public void loadLogo() {
 	        try {
-	            MimeMessage message = mailSender.createMimeMessage();
-	            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-	
-	            helper.setTo(toEmail);
-	            helper.setSubject("Welcome to NeoKart – Let's Start Shopping!");
-	
-	            String content = """
-	                <html>
-	                  <body style="font-family: Arial, sans-serif; text-align: center;">
-	                    <img src="cid:neokartLogo" alt="NeoKart Logo" style="max-height:80px; margin-bottom:20px;">
-	                    <h2 style="color: #FF5722;">Welcome to NeoKart, %s!</h2>
-	                    <p style="font-size: 16px; color: #555;">
-	                        Your shopping journey starts here. Explore the best products at the best prices.
-	                    </p>
-	                    <a href="https://neokart.com" style="display: inline-block; background-color: #FF5722; 
-	                       color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px; margin-top: 20px;">
-	                        Start Shopping
-	                    </a>
-	                    <p style="margin-top: 30px; font-size: 12px; color: #999;">
-	                        &copy; 2025 NeoKart. All rights reserved.
-	                    </p>
-	                  </body>
-	                </html>
-	                """.formatted(userName);
-	
-	            helper.setText(content, true);
-	            helper.addInline("neokartLogo", new ClassPathResource("static/images/NeoKart-logo.png"));
+	            logo = new ByteArrayResource(new ClassPathResource(LOGO_PATH).getContentAsByteArray());
+	        } catch (IOException e) {
+	            System.err.println("⚠️ NeoKart logo not found, emails are sent without it: " + e.getMessage());
+	        }
+	    }
+
+	    @PreDestroy
+	    public void closeTransports() {
+	        Transport transport;
+	        while ((transport = openTransports.poll()) != null) closeQuietly(transport);
+	    }
 	
-	            mailSender.send(message);
-	            System.out.println("✅ Welcome email sent to: " + toEmail);
+	    // ✅ Send Welcome Email (in the background, so registration doesn't wait on SMTP)
+	    public void sendWelcomeEmail(String toEmail, String userName) {
+	        Runnable send = () -> {
+	            try {
+	                MimeMessage message = buildMessage(toEmail, "Welcome to NeoKart – Let's Start Shopping!",
+	                        WELCOME_TEMPLATE.formatted(userName));
+	                mailSender.send(message);
+	                System.out.println("✅ Welcome email sent to: " + toEmail);
 	
-	        } catch (MessagingException e) {
-	            System.err.println("❌ Failed to send welcome email: " + e.getMessage());
+	            } catch (MessagingException | MailException e) {
+	                System.err.println("❌ Failed to send welcome email: " + e.getMessage());
+	            }
+	        };
+	        try {
+	            emailExecutor.execute(send);
+	        } catch (TaskRejectedException e) {
+	            // Queue full: the registering request sends it itself, which throttles a signup burst
+	            send.run();
 	        }
 	    }
-	
+
 	    // ✅ Send Order Placed Email
 	    public void sendOrderPlacedEmail(String toEmail, String userName, Long orderId, BigDecimal totalPrice) {
 	        try {
-	            MimeMessage message = mailSender.createMimeMessage();
-	            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-	            helper.setTo(toEmail);
-	            helper.setSubject("🛒 Your NeoKart Order #" + orderId + " has been placed!");
-
-	            String content = """
-	                <html>
-	                  <body style="font-family: Arial, sans-serif;">
-	                    <img src="cid:neokartLogo" alt="NeoKart Logo" style="max-height:80px; margin-bottom:20px;">
-	                    <h2 style="color: #FF5722;">Hi %s,</h2>
-	                    <p>Thank you for your order at NeoKart!</p>
-	                    <p>Your order ID is <strong>%d</strong>.</p>
-	                    <p>Order Total: <strong>$%.2f</strong></p>
-	                  </body>
-	                </html>
-	                """.formatted(userName, orderId, totalPrice);
-
-	            helper.setText(content, true);
-	            helper.addInline("neokartLogo", new ClassPathResource("static/images/NeoKart-logo.png"));
-
-	            mailSender.send(message);
+	            mailSender.send(buildOrderPlacedEmail(toEmail, userName, orderId, totalPrice));
 	            System.out.println("✅ Order placed email sent to: " + toEmail);
 
 	        } catch (MessagingException e) {
@@ -97,75 +177,34 @@ public class EmailService {
 	        }
 	    }
 
-
-
+	    public MimeMessage buildOrderPlacedEmail(String toEmail, String userName, Long orderId, BigDecimal totalPrice)
+	            throws MessagingException {
+	        return buildMessage(toEmail, "🛒 Your NeoKart Order #" + orderId + " has been placed!",
+	                ORDER_PLACED_TEMPLATE.formatted(userName, orderId, totalPrice));
+	    }
 	
 	    // ✅ Send Order Status Update Email
 	    public void sendOrderStatusUpdateEmail(String toEmail, String userName, Long orderId, String newStatus) {
 	        try {
-	            MimeMessage message = mailSender.createMimeMessage();
-	            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-	
-	            helper.setTo(toEmail);
-	            helper.setSubject("Update on your NeoKart Order #" + orderId);
-	
-	            String content = """
-	                <html>
-	                  <body style="font-family: Arial, sans-serif;">
-	                    <img src="cid:neokartLogo" alt="NeoKart Logo" style="max-height:80px; margin-bottom:20px;">
-	                    <h2 style="color: #FF5722;">Hello %s,</h2>
-	                    <p>Your order with ID <strong>%d</strong> status has been updated.</p>
-	                    <p>New Status: <strong>%s</strong></p>
-	                    <p>Thank you for shopping with NeoKart!</p>
-	                    <a href="https://neokart.com/orders/%d" style="display: inline-block; background-color: #FF5722; 
-	                       color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px; margin-top: 20px;">
-	                       View Order Details
-	                    </a>
-	                    <p style="margin-top: 30px; font-size: 12px; color: #999;">&copy; 2025 NeoKart. All rights reserved.</p>
-	                  </body>
-	                </html>
-	                """.formatted(userName, orderId, newStatus, orderId);
-	
-	            helper.setText(content, true);
-	            helper.addInline("neokartLogo", new ClassPathResource("static/images/NeoKart-logo.png"));
-	
-	            mailSender.send(message);
+	            mailSender.send(buildOrderStatusUpdateEmail(toEmail, userName, orderId, newStatus));
 	            System.out.println("✅ Order status update email sent to: " + toEmail);
 	
 	        } catch (MessagingException e) {
 	            System.err.println("❌ Failed to send order status update email: " + e.getMessage());
 	        }
 	    }
+
+	    public MimeMessage buildOrderStatusUpdateEmail(String toEmail, String userName, Long orderId, String newStatus)
+	            throws MessagingException {
+	        return buildMessage(toEmail, "Update on your NeoKart Order #" + orderId,
+	                ORDER_STATUS_TEMPLATE.formatted(userName, orderId, newStatus, orderId));
+	    }
 	    
 	 // ✅ Send Low Stock Alert Email to Admin
 	    public void sendLowStockAlertEmail(String adminEmail, String productName, int currentStock) {
 	        try {
-	            MimeMessage message = mailSender.createMimeMessage();
-	            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-	            helper.setTo(adminEmail);
-	            helper.setSubject("⚠️ Low Stock Alert: " + productName);
-
-	            String content = """
-	                <html>
-	                  <body style="font-family: Arial, sans-serif;">
-	                    <img src="cid:neokartLogo" alt="NeoKart Logo" style="max-height:80px; margin-bottom:20px;">
-	                    <h2 style="color: #E53935;">Low Stock Alert!</h2>
-	                    <p>Product: <strong>%s</strong></p>
-	                    <p>Current Stock: <strong>%d units</strong></p>
-	                    <p>Please restock soon to avoid running out of inventory.</p>
-	                    <a href="https://neokart.com/admin/inventory" style="display:inline-block; background-color:#FF5722;
-	                       color:white; padding:10px 20px; text-decoration:none; border-radius:5px;">
-	                       View Inventory
-	                    </a>
-	                    <p style="margin-top: 30px; font-size: 12px; color: #999;">&copy; 2025 NeoKart. All rights reserved.</p>
-	                  </body>
-	                </html>
-	                """.formatted(productName, currentStock);
-
-	            helper.setText(content, true);
-	            helper.addInline("neokartLogo", new ClassPathResource("static/images/NeoKart-logo.png"));
-	            mailSender.send(message);
+	            mailSender.send(buildMessage(adminEmail, "⚠️ Low Stock Alert: " + productName,
+	                    LOW_STOCK_TEMPLATE.formatted(productName, currentStock)));
 
 	            System.out.println("⚠️ Low stock alert sent to admin: " + adminEmail);
 
@@ -174,6 +213,96 @@ public class EmailService {
 	        }
 	    }
 
+	    // ===============================
+	    // 🔹 Bulk sending
+	    // ===============================
+
+	    /**
+	     * Sends the messages one after another over this thread's SMTP connection,
+	     * opening it (or reopening it after a drop) only when needed. Returns the
+	     * messages that failed with their error; an empty map means all were sent.
+	     */
+	    public Map<MimeMessage, Exception> sendAll(List<MimeMessage> messages) {
+	        Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+	        if (messages.isEmpty()) return failures;
+
+	        if (!(mailSender instanceof JavaMailSenderImpl sender)) {
+	            try {
+	                mailSender.send(messages.toArray(new MimeMessage[0]));
+	            } catch (MailSendException e) {
+	                e.getFailedMessages().forEach((message, error) -> failures.put((MimeMessage) message, error));
+	            } catch (MailException e) {
+	                messages.forEach(message -> failures.put(message, e));
+	            }
+	            return failures;
+	        }
+
+	        for (int i = 0; i < messages.size(); i++) {
+	            MimeMessage message = messages.get(i);
+	            Transport transport;
+	            try {
+	                transport = transport(sender);
+	            } catch (MessagingException e) {
+	                // Server unreachable: fail the rest now rather than wait out the connect timeout for each
+	                messages.subList(i, messages.size()).forEach(rest -> failures.put(rest, e));
+	                break;
+	            }
+	            try {
+	                if (message.getSentDate() == null) message.setSentDate(new Date());
+	                message.saveChanges();
+	                transport.sendMessage(message, message.getAllRecipients());
+	            } catch (Exception e) {
+	                failures.put(message, e);
+	                // A rejected recipient leaves the connection usable; anything else may not have
+	                if (!(e instanceof SendFailedException)) dropTransport();
+	            }
+	        }
+	        return failures;
+	    }
+
+	    // ===============================
+	    // 🔹 Internals
+	    // ===============================
+
+	    private MimeMessage buildMessage(String toEmail, String subject, String html) throws MessagingException {
+	        MimeMessage message = mailSender.createMimeMessage();
+	        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+
+	        helper.setTo(toEmail);
+	        helper.setSubject(subject);
+	        helper.setText(html, true);
+	        if (logo != null) helper.addInline(LOGO_CID, logo, "image/png");
+	        return message;
+	    }
+
+	    private Transport transport(JavaMailSenderImpl sender) throws MessagingException {
+	        Transport transport = transports.get();
+	        if (transport != null && transport.isConnected()) return transport;
+	        dropTransport();
+
+	        String protocol = sender.getProtocol() != null ? sender.getProtocol() : "smtp";
+	        transport = sender.getSession().getTransport(protocol);
+	        transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+	        transports.set(transport);
+	        openTransports.add(transport);
+	        return transport;
+	    }
+
+	    private void dropTransport() {
+	        Transport transport = transports.get();
+	        if (transport == null) return;
+	        transports.remove();
+	        openTransports.remove(transport);
+	        closeQuietly(transport);
+	    }
+
+	    private static void closeQuietly(Transport transport) {
+	        try {
+	            transport.close();
+	        } catch (MessagingException e) {
+	            // already gone
+	        }
+	    }
 	   
 	    
 	}
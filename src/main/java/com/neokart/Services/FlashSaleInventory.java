@@ -0,0 +1,349 @@
+package com.neokart.Services;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neokart.Entity.Product;
+import com.neokart.Event.ProductChangedEvent;
+import com.neokart.Repository.FlashSaleProductRepository;
+import com.neokart.Util.WriteAheadLog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory stock for products in a running flash sale, so checkouts on a hot
+ * product don't queue on its products row lock. Enable with
+ * neokart.flash-sale.inventory.enabled=true; assumes a single app instance.
+ *
+ * When a sale starts, each of its products gets a counter loaded from
+ * products.stock. Checkouts take units with a compare-and-set on the counter,
+ * and a scheduled flush writes the net units sold to MySQL in one batch.
+ * When the sale ends the counter is flushed and dropped, and the product goes
+ * back to StockReservationService's conditional UPDATE.
+ *
+ * Crash safety comes from a write-ahead log:
+ * - a sale is logged (fsync, group commit) before its order commits;
+ * - flushes and returns are logged after they happen;
+ * - units go back only on a definite rollback, never when the commit outcome is unknown;
+ * - on startup the unflushed net sales are applied to products.stock.
+ * Every crash window therefore errs towards selling too little, never too much.
+ *
+ * Stock edits made by an admin while a product is on sale reach the database
+ * but not the counter; they count once the sale ends.
+ */
+@Service
+@ConditionalOnProperty(name = "neokart.flash-sale.inventory.enabled", havingValue = "true")
+public class FlashSaleInventory {
+
+    // Log record types: "<type>,<productId>,<units>"
+    private static final String SOLD = "S";
+    private static final String RETURNED = "R";
+    private static final String FLUSHED = "F";
+
+    private static final long CHECKPOINT_AFTER_RECORDS = 10_000;
+
+    private static final String APPLY_SOLD =
+            "UPDATE products SET stock = GREATEST(stock - ?, 0) WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FlashSaleProductRepository flashSaleProductRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${neokart.flash-sale.wal-file:data/flash-sale-inventory.wal}")
+    private String walFile;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    // Checkouts hold the read side for their whole transaction; moving a product between
+    // counter and database takes the write side, so it never happens mid-checkout
+    private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+
+    private WriteAheadLog wal;
+
+    static final class Counter {
+        final AtomicLong available;
+        final AtomicLong sold = new AtomicLong(); // net units taken since the sale started
+        long flushed;                             // guarded by the inventory's monitor
+
+        Counter(long available) {
+            this.available = new AtomicLong(available);
+        }
+
+        boolean tryTake(int units) {
+            long current;
+            do {
+                current = available.get();
+                if (current < units) return false;
+            } while (!available.compareAndSet(current, current - units));
+            sold.addAndGet(units);
+            return true;
+        }
+
+        void giveBack(int units) {
+            sold.addAndGet(-units);
+            available.addAndGet(units);
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        wal = new WriteAheadLog(Paths.get(walFile));
+        recover();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        try {
+            flush();
+        } finally {
+            wal.close();
+        }
+    }
+
+    // ===============================
+    // 🔹 Checkout
+    // ===============================
+
+    /**
+     * Takes the order's flash-sale products from their counters and returns the
+     * remaining quantities (products not on sale) for the database path. Runs in
+     * the order's transaction; a rollback gives the units back.
+     */
+    public Map<Long, Integer> reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> taken = new TreeMap<>();
+        Map<Long, Integer> rest = new TreeMap<>();
+
+        gate.readLock().lock();
+        try {
+            for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+                Counter counter = counters.get(entry.getKey());
+                if (counter == null) {
+                    rest.put(entry.getKey(), entry.getValue());
+                } else if (counter.tryTake(entry.getValue())) {
+                    taken.put(entry.getKey(), entry.getValue());
+                } else {
+                    taken.forEach((id, units) -> counters.get(id).giveBack(units));
+                    throw new RuntimeException("❌ Not enough stock for flash sale product " + entry.getKey());
+                }
+            }
+            TransactionSynchronizationManager.registerSynchronization(new CheckoutSync(taken));
+        } catch (RuntimeException e) {
+            gate.readLock().unlock();
+            throw e;
+        }
+        return rest;
+    }
+
+    /** Returns units of flash-sale products once the cancellation commits; the rest is left for the database path. */
+    public Map<Long, Integer> release(Map<Long, Integer> quantities) {
+        Map<Long, Integer> returned = new TreeMap<>();
+        Map<Long, Integer> rest = new TreeMap<>();
+
+        gate.readLock().lock();
+        try {
+            quantities.forEach((id, units) -> (counters.containsKey(id) ? returned : rest).put(id, units));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    records(RETURNED, returned).forEach(wal::append);
+                    returned.forEach((id, units) -> counters.get(id).giveBack(units));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    gate.readLock().unlock();
+                }
+            });
+        } catch (RuntimeException e) {
+            gate.readLock().unlock();
+            throw e;
+        }
+        return rest;
+    }
+
+    private final class CheckoutSync implements TransactionSynchronization {
+        private final Map<Long, Integer> taken;
+        private boolean logged;
+
+        CheckoutSync(Map<Long, Integer> taken) {
+            this.taken = taken;
+        }
+
+        // The sale is durable before the order commits; if it can't be logged the order fails
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (taken.isEmpty()) return;
+            try {
+                wal.appendAndWait(records(SOLD, taken));
+                logged = true;
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not log flash sale stock: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                if (status == STATUS_ROLLED_BACK && !taken.isEmpty()) {
+                    taken.forEach((id, units) -> counters.get(id).giveBack(units));
+                    // Not waited for: losing it in a crash only undersells
+                    if (logged) records(RETURNED, taken).forEach(wal::append);
+                } else if (status == STATUS_UNKNOWN && !taken.isEmpty()) {
+                    // The order may have committed: keep the units sold (at worst undersold) and
+                    // leave it to reconciliation
+                    System.err.println("⚠️ Flash sale checkout ended with an unknown commit outcome; units kept as sold "
+                            + "for reconciliation (product -> units): " + taken);
+                }
+            } finally {
+                gate.readLock().unlock();
+            }
+        }
+    }
+
+    // ===============================
+    // 🔹 Sale start / end, flushing
+    // ===============================
+
+    @Scheduled(fixedDelayString = "${neokart.flash-sale.poll-interval-ms:5000}")
+    public void refreshActiveSales() {
+        Set<Long> onSale = new HashSet<>(flashSaleProductRepository.findProductIdsOnSale(LocalDateTime.now()));
+        Set<Long> ending = counters.keySet().stream().filter(id -> !onSale.contains(id)).collect(Collectors.toSet());
+        Set<Long> starting = onSale.stream().filter(id -> !counters.containsKey(id)).collect(Collectors.toSet());
+        if (ending.isEmpty() && starting.isEmpty()) return;
+
+        // Waits for checkouts in flight, so no order is half on the counter and half on the database
+        gate.writeLock().lock();
+        try {
+            synchronized (this) {
+                if (!ending.isEmpty()) {
+                    flush();
+                    ending.forEach(counters::remove);
+                    System.out.println("⚡ Flash sale stock handed back to the database for products " + ending);
+                }
+                if (!starting.isEmpty()) {
+                    loadStock(starting).forEach((id, stock) -> counters.put(id, new Counter(stock)));
+                    System.out.println("⚡ Flash sale stock loaded into memory for products " + starting);
+                }
+            }
+        } finally {
+            gate.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${neokart.flash-sale.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new TreeMap<>();
+        counters.forEach((id, counter) -> {
+            long delta = counter.sold.get() - counter.flushed;
+            if (delta != 0) deltas.put(id, delta);
+        });
+
+        if (!deltas.isEmpty()) {
+            applyToStock(deltas);
+            deltas.forEach((id, delta) -> counters.get(id).flushed += delta);
+            try {
+                wal.appendAndWait(records(FLUSHED, deltas));
+            } catch (IOException e) {
+                // Recovery would apply these units again: undersells, never oversells
+                System.err.println("⚠️ Could not log flash sale flush: " + e.getMessage());
+            }
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(deltas.keySet().stream()
+                    .map(id -> Product.builder().id(id).build())
+                    .collect(Collectors.toList())));
+        }
+
+        if (wal.getRecordCount() > CHECKPOINT_AFTER_RECORDS) checkpoint();
+    }
+
+    // Replaces the log with one record per product still holding unflushed units
+    private void checkpoint() {
+        List<String> records = new ArrayList<>();
+        counters.forEach((id, counter) -> {
+            long net = counter.sold.get() - counter.flushed;
+            if (net > 0) records.add(SOLD + "," + id + "," + net);
+            if (net < 0) records.add(RETURNED + "," + id + "," + (-net));
+        });
+        try {
+            wal.rewrite(records);
+        } catch (IOException e) {
+            System.err.println("⚠️ Flash sale log checkpoint failed: " + e.getMessage());
+        }
+    }
+
+    // ===============================
+    // 🔹 Recovery & helpers
+    // ===============================
+
+    private void recover() throws IOException {
+        Map<Long, Long> net = new TreeMap<>();
+        for (String record : wal.readAll()) {
+            String[] fields = record.split(",");
+            long productId = Long.parseLong(fields[1]);
+            long units = Long.parseLong(fields[2]);
+            net.merge(productId, SOLD.equals(fields[0]) ? units : -units, Long::sum);
+        }
+
+        // Only net sales are replayed: applying a sale twice (crash mid-recovery) undersells,
+        // applying a return twice could oversell
+        Map<Long, Long> unflushed = new TreeMap<>();
+        net.forEach((id, units) -> { if (units > 0) unflushed.put(id, units); });
+        if (!unflushed.isEmpty()) {
+            applyToStock(unflushed);
+            System.out.println("🔁 Applied unflushed flash sale stock from the log: " + unflushed);
+        }
+        wal.rewrite(List.of());
+    }
+
+    private void applyToStock(Map<Long, Long> units) {
+        List<Object[]> args = new ArrayList<>(units.size());
+        units.forEach((id, sold) -> args.add(new Object[] { sold, id }));
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(APPLY_SOLD, args));
+    }
+
+    private Map<Long, Long> loadStock(Set<Long> productIds) {
+        String idList = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        Map<Long, Long> stock = new TreeMap<>();
+        jdbcTemplate.query("SELECT id, stock FROM products WHERE id IN (" + idList + ")",
+                rs -> { stock.put(rs.getLong(1), rs.getLong(2)); }, productIds.toArray());
+        return stock;
+    }
+
+    private static List<String> records(String type, Map<Long, ? extends Number> units) {
+        List<String> records = new ArrayList<>(units.size());
+        units.forEach((id, count) -> records.add(type + "," + id + "," + count));
+        return records;
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.neokart.Services;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neokart.Entity.Product;
+import com.neokart.Entity.ProductImage;
+import com.neokart.Event.ProductChangedEvent;
+import com.neokart.Repository.ProductImageRepo;
+import com.neokart.Storage.BlobStore;
+
+/**
+ * Generates fixed-size renditions (thumbnail / medium / large) of uploaded
+ * product images on imageExecutor, after the product save commits, and
+ * records their URLs on ProductImage. Originals are never upscaled; every
+ * rendition is re-encoded (progressive JPEG, or PNG when the source has
+ * transparency), which also strips camera metadata.
+ *
+ * Formats ImageIO can't decode, and images over neokart.images.max-pixels,
+ * keep the original URL for all three renditions.
+ */
+@Component
+public class ImageRenditionService {
+
+    public enum Rendition {
+        THUMBNAIL("thumb", 320),
+        MEDIUM("medium", 800),
+        LARGE("large", 1600);
+
+        final String suffix;
+        final int maxSize;
+
+        Rendition(String suffix, int maxSize) {
+            this.suffix = suffix;
+            this.maxSize = maxSize;
+        }
+    }
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    @Autowired
+    private ProductImageRepo imageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    @Qualifier("imageExecutor")
+    private Executor imageExecutor;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${neokart.images.max-pixels:40000000}")
+    private long maxPixels;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() != ProductChangedEvent.Type.SAVED) return;
+        List<Long> productIds = event.getProducts().stream()
+                .map(Product::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (productIds.isEmpty()) return;
+
+        imageExecutor.execute(() -> generateFor(productIds));
+    }
+
+    void generateFor(List<Long> productIds) {
+        List<ProductImage> images = imageRepository.findMissingRenditions(productIds,
+                ProductImageStorage.DEFAULT_IMAGE_URL);
+        if (images.isEmpty()) return;
+
+        Set<Long> updatedProducts = new HashSet<>();
+        for (ProductImage image : images) {
+            try {
+                String[] urls = render(image.getImageUrl());
+                if (urls == null) continue;
+                transactionTemplate.executeWithoutResult(status ->
+                        imageRepository.updateRenditions(image.getId(), urls[0], urls[1], urls[2]));
+                updatedProducts.add(image.getProduct().getId());
+            } catch (Exception e) {
+                System.err.println("⚠️ Failed to create renditions for " + image.getImageUrl() + ": " + e.getMessage());
+            }
+        }
+
+        // Only the product page cache shows renditions; the search and suggest indexes don't care
+        if (!updatedProducts.isEmpty()) {
+            eventPublisher.publishEvent(ProductChangedEvent.imagesChanged(updatedProducts.stream()
+                    .map(id -> Product.builder().id(id).build())
+                    .collect(Collectors.toList())));
+        }
+    }
+
+    // ===============================
+    // 🔹 Rendering
+    // ===============================
+
+    // Returns [thumbnail, medium, large] URLs, or null when the source file is missing
+    private String[] render(String imageUrl) throws IOException {
+        String key = BlobStore.keyOf(imageUrl);
+        if (key == null || !blobStore.exists(key)) return null;
+
+        BufferedImage original;
+        try (InputStream in = blobStore.open(key)) {
+            original = decode(in, imageUrl);
+        }
+        if (original == null) {
+            return new String[] { imageUrl, imageUrl, imageUrl };
+        }
+
+        boolean alpha = original.getColorModel().hasAlpha();
+        Rendition[] renditions = Rendition.values();
+        String[] urls = new String[renditions.length];
+        for (int i = 0; i < renditions.length; i++) {
+            String name = renditionKey(key, renditions[i], alpha ? "png" : "jpg");
+            if (!blobStore.exists(name)) {
+                // Encoded to a scratch file first, so a half-written rendition is never served
+                Path tmp = blobStore.createTempFile();
+                try {
+                    write(scale(original, renditions[i].maxSize, alpha), tmp, alpha);
+                    blobStore.put(name, tmp);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            }
+            urls[i] = BlobStore.urlOf(name);
+        }
+        return urls;
+    }
+
+    // Reads the header first and refuses images over maxPixels, so one huge upload can't take
+    // the executor's heap (a decoded image needs about 4 bytes per pixel). Returns null when the
+    // format is unknown or the image is too large.
+    private BufferedImage decode(InputStream in, String imageUrl) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = stream == null ? null : ImageIO.getImageReaders(stream);
+            if (readers == null || !readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    System.err.println("⚠️ Not creating renditions for " + imageUrl + ": " + reader.getWidth(0)
+                            + "x" + reader.getHeight(0) + " is over " + maxPixels + " pixels");
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Every key a rendition of this original could have been written under
+    static List<String> renditionKeys(String key) {
+        List<String> keys = new ArrayList<>();
+        for (Rendition rendition : Rendition.values()) {
+            keys.add(renditionKey(key, rendition, "jpg"));
+            keys.add(renditionKey(key, rendition, "png"));
+        }
+        return keys;
+    }
+
+    private static String renditionKey(String key, Rendition rendition, String extension) {
+        int dot = key.lastIndexOf('.');
+        String base = dot > key.lastIndexOf('/') ? key.substring(0, dot) : key;
+        return base + "_" + rendition.suffix + "." + extension;
+    }
+
+    // Halves repeatedly before the final step, since one big bilinear jump looks noticeably soft.
+    // Always draws at least once, which also converts the source to a plain RGB/ARGB raster.
+    private static BufferedImage scale(BufferedImage source, int maxSize, boolean alpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage next = new BufferedImage(width, height,
+                    alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!alpha) {
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, width, height);
+                }
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private static void write(BufferedImage image, Path target, boolean png) throws IOException {
+        if (png) {
+            ImageIO.write(image, "png", target.toFile());
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+}
@@ -1,12 +1,23 @@
 package com.neokart.Services;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.neokart.DTO.OrderItemDto;
 import com.neokart.DTO.ShippingAddressDto;
@@ -19,6 +30,9 @@ import com.neokart.Repository.OrderRepository;
 import com.neokart.Repository.ProductRepository;
 import com.neokart.Repository.UserRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 public class OrderService {
 
@@ -31,21 +45,54 @@ public class OrderService {
 
     @Autowired
     private ProductRepository productRepository;
-    
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final String INSERT_ITEM = """
+            INSERT INTO order_item (order_id, product_id, quantity, price)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    // Fixed number of statements whatever the item count: user, products (one IN query),
+    // one stock reservation UPDATE, shipping address, order, and a single JDBC batch for the items
+    @Transactional
     public Order createOrder(String userEmail, List<OrderItemDto> itemsDto, ShippingAddressDto shippingDto) {
         User user = userRepository.findByEmail(userEmail)
                       .orElseThrow(() -> new RuntimeException("User not found"));
+        if (itemsDto == null || itemsDto.isEmpty()) {
+            throw new RuntimeException("Order has no items");
+        }
 
         Order order = new Order();
         order.setUser(user);
         order.setStatus("PENDING");
         order.setOrderDate(LocalDateTime.now());
 
+        // Load every product in one query
+        Set<Long> productIds = itemsDto.stream().map(OrderItemDto::getProductId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
         // Convert items
         List<OrderItem> items = itemsDto.stream().map(dto -> {
+            Product product = products.get(dto.getProductId());
+            if (product == null) throw new RuntimeException("Product not found: " + dto.getProductId());
+            if (dto.getQuantity() == null || dto.getQuantity() <= 0) {
+                throw new RuntimeException("Invalid quantity for product " + dto.getProductId());
+            }
             OrderItem item = new OrderItem();
-            Product product = productRepository.findById(dto.getProductId())
-                                  .orElseThrow(() -> new RuntimeException("Product not found"));
             item.setProduct(product);
             item.setQuantity(dto.getQuantity());
             item.setPrice(product.getPrice().multiply(BigDecimal.valueOf(dto.getQuantity())));
@@ -53,14 +100,15 @@ public class OrderService {
             return item;
         }).toList();
 
-        order.setItems(items);
-
         // Total price
         BigDecimal total = items.stream()
                                 .map(OrderItem::getPrice)
                                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         order.setTotalPrice(total);
 
+        // First write of the transaction: takes the stock (or fails the whole order) before anything is inserted
+        stockReservationService.reserve(quantitiesByProduct(items));
+
         // Set shipping address
         ShippingAddress shipping = new ShippingAddress();
         shipping.setName(shippingDto.getName());
@@ -73,12 +121,50 @@ public class OrderService {
         shipping.setCountry(shippingDto.getCountry());
 
         order.setShippingAddress(shipping);
+        order.setItems(new ArrayList<>());
 
-        return orderRepository.save(order);
-    }
+        orderRepository.save(order); // shipping address + order (IDENTITY ids, so inserted right away)
+        insertItems(order.getId(), items);
+        outboxService.orderPlacedEmail(order); // sent after commit by OutboxDispatcher
 
+        // The items were written behind Hibernate's back: stop tracking the order so the
+        // flush at commit doesn't try to persist them again
+        entityManager.detach(order);
+        order.setItems(items);
+        return order;
+    }
 
+    private static Map<Long, Integer> quantitiesByProduct(List<OrderItem> items) {
+        return items.stream().collect(Collectors.toMap(
+                item -> item.getProduct().getId(), OrderItem::getQuantity, Integer::sum));
+    }
 
+    private void insertItems(Long orderId, List<OrderItem> items) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_ITEM, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        OrderItem item = items.get(i);
+                        ps.setLong(1, orderId);
+                        ps.setLong(2, item.getProduct().getId());
+                        ps.setInt(3, item.getQuantity());
+                        ps.setBigDecimal(4, item.getPrice());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < items.size(); i++) {
+            items.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
 
     public List<Order> getOrdersByUser(String email) {
         User user = userRepository.findByEmail(email)
@@ -86,23 +172,16 @@ public class OrderService {
         return orderRepository.findByUser(user);
     }
 
-    public Order updateOrderStatus(Long orderId, String newStatus, EmailService emailService) {
+    @Transactional
+    public Order updateOrderStatus(Long orderId, String newStatus) {
         Order order = orderRepository.findById(orderId)
             .orElseThrow(() -> new RuntimeException("Order not found"));
 
         order.setStatus(newStatus);
         orderRepository.save(order);
 
-        try {
-            emailService.sendOrderStatusUpdateEmail(
-                order.getUser().getEmail(),
-                order.getUser().getName(),
-                order.getId(),
-                newStatus
-            );
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        // Committed with the status change, emailed in the background
+        outboxService.orderStatusEmail(order);
 
         return order;
     }
@@ -136,6 +215,7 @@ public class OrderService {
 
     
 //    Delete Order 
+    @Transactional
     public void cancelOrder(Long orderId, String userEmail) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found"));
@@ -148,6 +228,9 @@ public class OrderService {
             throw new IllegalArgumentException("Delivered orders cannot be cancelled");
         }
 
+        // Put the stock back in the same transaction as the delete
+        stockReservationService.release(quantitiesByProduct(order.getItems()));
+
         // Option 1: Delete order
         orderRepository.delete(order);
 
@@ -0,0 +1,213 @@
+package com.neokart.Services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neokart.Entity.OutboxMessage;
+import com.neokart.Enum.OutboxStatus;
+import com.neokart.Repository.OutboxMessageRepository;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Delivers pending outbox messages. Each poll tops up emailExecutor with at
+ * most neokart.email.workers drain tasks and returns at once; the scheduler
+ * thread never sends anything itself. A drain task claims a batch of due
+ * messages in a short transaction (SKIP LOCKED, due time pushed past a lease),
+ * sends the whole batch over one SMTP connection and records each outcome,
+ * then claims the next batch until nothing is due. The lease therefore starts
+ * when sending starts, never while a batch waits in a queue.
+ *
+ * Failures are retried with exponential backoff and jitter until
+ * max-attempts, then left as FAILED.
+ *
+ * Delivery is at-least-once: a crash between sending and recording the result
+ * re-sends the message once the lease runs out.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    // Outcomes are saved after every group and the lease is checked before the next one. Small
+    // enough that a group fits in half a lease even if every message hits the SMTP timeouts
+    private static final int SEND_GROUP_SIZE = 3;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("emailExecutor")
+    private Executor emailExecutor;
+
+    @Value("${neokart.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${neokart.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${neokart.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${neokart.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${neokart.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    // One drain task per email worker at most, so outbox mail never queues behind itself
+    @Value("${neokart.email.workers:2}")
+    private int maxDrainTasks;
+
+    private final AtomicInteger drainTasks = new AtomicInteger();
+
+    @Scheduled(fixedDelayString = "${neokart.outbox.poll-interval-ms:1000}")
+    public void dispatchDue() {
+        while (drainTasks.incrementAndGet() <= maxDrainTasks) {
+            try {
+                emailExecutor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                // Email queue full (welcome emails too): try again on the next poll
+                drainTasks.decrementAndGet();
+                return;
+            }
+        }
+        drainTasks.decrementAndGet();
+    }
+
+    private void drain() {
+        try {
+            List<OutboxMessage> claimed;
+            do {
+                LocalDateTime leaseEnd = LocalDateTime.now().plusSeconds(leaseSeconds);
+                claimed = claim(leaseEnd);
+                if (!claimed.isEmpty()) deliver(claimed, leaseEnd);
+            } while (claimed.size() == batchSize);
+        } catch (Exception e) {
+            System.err.println("⚠️ Outbox dispatch failed: " + e.getMessage());
+        } finally {
+            drainTasks.decrementAndGet();
+        }
+    }
+
+    private List<OutboxMessage> claim(LocalDateTime leaseEnd) {
+        return transactionTemplate.execute(status -> {
+            List<OutboxMessage> due = outboxRepository.lockDue(OutboxStatus.PENDING, LocalDateTime.now(),
+                    PageRequest.of(0, batchSize));
+            due.forEach(message -> message.setNextAttemptAt(leaseEnd));
+            return due;
+        });
+    }
+
+    // A slow mail server can't stretch a batch past its lease: with less than half of it left,
+    // the unsent rest is handed back (due now, attempt not counted) for the next claim
+    private void deliver(List<OutboxMessage> batch, LocalDateTime leaseEnd) {
+        LocalDateTime stopAfter = leaseEnd.minusSeconds(leaseSeconds / 2);
+        for (int from = 0; from < batch.size(); from += SEND_GROUP_SIZE) {
+            List<OutboxMessage> group = batch.subList(from, Math.min(batch.size(), from + SEND_GROUP_SIZE));
+            if (LocalDateTime.now().isAfter(stopAfter)) {
+                List<OutboxMessage> rest = batch.subList(from, batch.size());
+                LocalDateTime now = LocalDateTime.now();
+                rest.forEach(message -> message.setNextAttemptAt(now));
+                outboxRepository.saveAll(rest);
+                return;
+            }
+            send(group);
+        }
+    }
+
+    private void send(List<OutboxMessage> batch) {
+        Map<OutboxMessage, Exception> failures = new IdentityHashMap<>();
+        Map<MimeMessage, OutboxMessage> sources = new IdentityHashMap<>();
+        List<MimeMessage> emails = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            try {
+                MimeMessage email = build(message);
+                emails.add(email);
+                sources.put(email, message);
+            } catch (Exception e) {
+                failures.put(message, e);
+            }
+        }
+        emailService.sendAll(emails).forEach((email, e) -> failures.put(sources.get(email), e));
+
+        batch.forEach(message -> record(message, failures.get(message)));
+        outboxRepository.saveAll(batch);
+    }
+
+    private void record(OutboxMessage message, Exception failure) {
+        message.setAttempts(message.getAttempts() + 1);
+        if (failure == null) {
+            message.setStatus(OutboxStatus.SENT);
+            message.setSentAt(LocalDateTime.now());
+            message.setLastError(null);
+            return;
+        }
+
+        String error = String.valueOf(failure.getMessage());
+        message.setLastError(error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH)));
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            System.err.println("❌ Outbox message " + message.getId() + " (" + message.getType()
+                    + ") failed after " + message.getAttempts() + " attempts: " + error);
+        } else {
+            Duration delay = backoff(message.getAttempts());
+            message.setNextAttemptAt(LocalDateTime.now().plus(delay));
+            System.err.println("⚠️ Outbox message " + message.getId() + " (" + message.getType()
+                    + ") failed, retrying in " + delay.toSeconds() + "s: " + error);
+        }
+    }
+
+    private MimeMessage build(OutboxMessage message) throws Exception {
+        JsonNode payload = objectMapper.readTree(message.getPayload());
+        return switch (message.getType()) {
+            case ORDER_PLACED_EMAIL -> emailService.buildOrderPlacedEmail(
+                    text(payload, "to"), text(payload, "name"),
+                    payload.get("orderId").asLong(), payload.get("total").decimalValue());
+            case ORDER_STATUS_EMAIL -> emailService.buildOrderStatusUpdateEmail(
+                    text(payload, "to"), text(payload, "name"),
+                    payload.get("orderId").asLong(), text(payload, "status"));
+        };
+    }
+
+    // initial * 2^(attempt-1), capped, with up to 20% jitter so retries don't arrive in waves
+    private Duration backoff(int attempt) {
+        long seconds = initialBackoffSeconds << Math.min(attempt - 1, 20);
+        seconds = Math.min(seconds, maxBackoffSeconds);
+        long jitter = (long) (seconds * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofSeconds(seconds + jitter);
+    }
+
+    private static String text(JsonNode payload, String field) {
+        JsonNode node = payload.get(field);
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+}
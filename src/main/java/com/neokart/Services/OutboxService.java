@@ -0,0 +1,71 @@
+package com.neokart.Services;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neokart.Entity.Order;
+import com.neokart.Entity.OutboxMessage;
+import com.neokart.Enum.OutboxMessageType;
+import com.neokart.Enum.OutboxStatus;
+import com.neokart.Repository.OutboxMessageRepository;
+
+/**
+ * Records side effects in the caller's transaction: they exist if and only if
+ * the change that caused them commits. OutboxDispatcher delivers them later,
+ * so the request never waits on SMTP.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void orderPlacedEmail(Order order) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("to", order.getUser().getEmail());
+        payload.put("name", order.getUser().getName());
+        payload.put("orderId", order.getId());
+        payload.put("total", order.getTotalPrice());
+        enqueue(OutboxMessageType.ORDER_PLACED_EMAIL, payload);
+    }
+
+    public void orderStatusEmail(Order order) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("to", order.getUser().getEmail());
+        payload.put("name", order.getUser().getName());
+        payload.put("orderId", order.getId());
+        payload.put("status", order.getStatus());
+        enqueue(OutboxMessageType.ORDER_STATUS_EMAIL, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxMessageType type, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " payload", e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.save(OutboxMessage.builder()
+                .type(type)
+                .payload(json)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+}
@@ -0,0 +1,609 @@
+package com.neokart.Services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neokart.DTO.ProductImportRow;
+import com.neokart.Entity.Product;
+import com.neokart.Entity.ProductImage;
+import com.neokart.Enum.ImportMode;
+import com.neokart.Event.ProductChangedEvent;
+import com.neokart.Util.CsvReader;
+
+import jakarta.persistence.Column;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Streaming CSV product import. Records are read with the RFC 4180 CsvReader,
+ * validated in parallel and written in chunks of neokart.import.chunk-size with
+ * plain JDBC batch inserts (products, then their images), one transaction per
+ * chunk. At most three chunks are in memory and no entities are attached to a
+ * persistence context.
+ *
+ * Expected columns: name, description, price, stock, sku, category, subCategory, imageUrls
+ */
+@Component
+public class ProductCsvImporter {
+
+    private static final String INSERT_PRODUCT = """
+            INSERT INTO products (name, description, price, stock, sku, category, sub_category,
+                                  rating_count, rating_sum, average_rating)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, 0)
+            """;
+
+    private static final String INSERT_IMAGE =
+            "INSERT INTO product_images (image_url, is_primary, product_id) VALUES (?, ?, ?)";
+
+    private static final int COLUMN_COUNT = 8;
+
+    private static final int VALIDATION_SLICE_SIZE = 250;
+
+    // Column limits, read from the entity mappings so validation can't drift from the schema.
+    // A row over any of them would fail the whole chunk's batch instead of just itself.
+    private static final int NAME_LENGTH = columnOf(Product.class, "name").length();
+    private static final int DESCRIPTION_LENGTH = columnOf(Product.class, "description").length();
+    private static final int SKU_LENGTH = columnOf(Product.class, "sku").length();
+    private static final int CATEGORY_LENGTH = columnOf(Product.class, "category").length();
+    private static final int SUB_CATEGORY_LENGTH = columnOf(Product.class, "subCategory").length();
+    private static final int IMAGE_URL_LENGTH = columnOf(ProductImage.class, "imageUrl").length();
+    private static final int PRICE_SCALE = columnOf(Product.class, "price").scale();
+    private static final int PRICE_INTEGER_DIGITS = columnOf(Product.class, "price").precision() - PRICE_SCALE;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    @Qualifier("importValidationExecutor")
+    private Executor validationExecutor;
+
+    @Value("${neokart.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RejectedRow {
+        private final long rowNumber; // 1-based, header excluded
+        private final String reason;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Progress {
+        private final long rowsRead;
+        private final long rowsImported;   // inserted as new products
+        private final long rowsUpdated;    // UPSERT: existing SKU with changed fields
+        private final long rowsUnchanged;  // UPSERT: existing SKU, nothing to write
+        private final long rowsRejected;
+        private final List<RejectedRow> rejectedInChunk;
+    }
+
+    /** Called once per chunk, inside the chunk's transaction, after its rows are written. */
+    @FunctionalInterface
+    public interface ChunkListener {
+        void onChunk(Progress progress);
+    }
+
+    public Progress importCsv(InputStream in, ImportMode mode, ChunkListener listener) throws IOException {
+        return importCsv(in, mode, new Progress(0, 0, 0, 0, 0, List.of()), listener);
+    }
+
+    /**
+     * Resumes an import whose first resumeFrom.rowsRead rows are already committed:
+     * those rows are skipped and counting continues from resumeFrom.
+     *
+     * Validation runs alongside this thread: once chunk N is read it goes to
+     * importValidationExecutor, and this thread writes chunk N-1 and then reads
+     * chunk N+1 while N validates. Reading and writing share this thread, so
+     * they take turns rather than overlap. Chunks are written in file order, so
+     * committed progress is always a prefix of the file.
+     *
+     * In UPSERT mode every existing SKU is loaded once up front; rows are then
+     * diffed in memory and only changed columns of changed rows are written.
+     */
+    public Progress importCsv(InputStream in, ImportMode mode, Progress resumeFrom, ChunkListener listener)
+            throws IOException {
+        AtomicReference<Progress> current = new AtomicReference<>(new Progress(resumeFrom.getRowsRead(),
+                resumeFrom.getRowsImported(), resumeFrom.getRowsUpdated(), resumeFrom.getRowsUnchanged(),
+                resumeFrom.getRowsRejected(), List.of()));
+        Map<String, ExistingProduct> existing = mode == ImportMode.UPSERT ? loadExistingBySku() : null;
+
+        long rowsRead = readChunks(in, resumeFrom.getRowsRead(),
+                chunk -> current.set(writeChunk(chunk, current.get(), existing, listener)));
+
+        Progress last = current.get();
+        return new Progress(Math.max(rowsRead, last.getRowsRead()), last.getRowsImported(),
+                last.getRowsUpdated(), last.getRowsUnchanged(), last.getRowsRejected(), List.of());
+    }
+
+    /**
+     * Parse and validate stage: reads records after the first skipRows, validates
+     * them chunk by chunk on importValidationExecutor and hands each validated
+     * chunk to sink on this thread, in file order. The next chunk is already
+     * validating while sink runs. Returns the number of non-blank rows read.
+     */
+    long readChunks(InputStream in, long skipRows, Consumer<ValidatedChunk> sink) throws IOException {
+        long rowsRead = 0;
+        CompletableFuture<ValidatedChunk> pending = null;
+
+        try (CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            if (reader.next() == null) throw new IOException("Empty CSV file"); // header
+
+            List<RawRow> raw = new ArrayList<>(chunkSize);
+            String[] record;
+            while ((record = reader.next()) != null) {
+                if (isBlank(record)) continue;
+                rowsRead++;
+                if (rowsRead <= skipRows) continue;
+
+                raw.add(new RawRow(rowsRead, record));
+                if (raw.size() >= chunkSize) {
+                    CompletableFuture<ValidatedChunk> next = validate(raw);
+                    raw = new ArrayList<>(chunkSize);
+                    if (pending != null) sink.accept(pending.join());
+                    pending = next;
+                }
+            }
+
+            if (!raw.isEmpty()) {
+                CompletableFuture<ValidatedChunk> next = validate(raw);
+                if (pending != null) sink.accept(pending.join());
+                pending = next;
+            }
+            if (pending != null) sink.accept(pending.join());
+        }
+        return rowsRead;
+    }
+
+    // ===============================
+    // 🔹 Persistence
+    // ===============================
+
+    private Progress writeChunk(ValidatedChunk chunk, Progress before, Map<String, ExistingProduct> existing,
+                                ChunkListener listener) {
+        List<ProductImportRow> inserts = new ArrayList<>();
+        Map<Long, PendingUpdate> updates = new LinkedHashMap<>();
+        long updated = 0;
+        long unchanged = 0;
+
+        if (existing == null) {
+            inserts.addAll(chunk.rows);
+        } else {
+            for (ProductImportRow row : chunk.rows) {
+                String sku = row.getSku();
+                ExistingProduct current = sku.isEmpty() ? null : existing.get(sku);
+                if (current == null) {
+                    if (!sku.isEmpty()) existing.put(sku, ExistingProduct.pendingInsert(inserts.size(), row));
+                    inserts.add(row); // rows without a SKU can't be matched and are always inserted
+                    continue;
+                }
+
+                int changed = current.diff(row);
+                if (changed == 0) {
+                    unchanged++;
+                    continue;
+                }
+                updated++;
+                current.apply(row);
+                if (current.id == null) {
+                    inserts.set(current.insertIndex, row); // same SKU twice in one chunk: last row wins
+                } else {
+                    updates.merge(current.id, new PendingUpdate(current.id, row, changed),
+                            (earlier, later) -> new PendingUpdate(later.id, later.row, earlier.columns | later.columns));
+                }
+            }
+        }
+
+        Progress after = new Progress(chunk.lastRowNumber,
+                before.getRowsImported() + inserts.size(),
+                before.getRowsUpdated() + updated,
+                before.getRowsUnchanged() + unchanged,
+                before.getRowsRejected() + chunk.rejected.size(),
+                List.copyOf(chunk.rejected));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Product> changedProducts = new ArrayList<>();
+            if (!inserts.isEmpty()) {
+                List<Long> ids = insertProducts(inserts);
+                insertImages(inserts, ids);
+                for (int i = 0; i < inserts.size(); i++) {
+                    ProductImportRow row = inserts.get(i);
+                    if (existing != null && !row.getSku().isEmpty()) existing.get(row.getSku()).id = ids.get(i);
+                    changedProducts.add(toProduct(row, ids.get(i)));
+                }
+            }
+            if (!updates.isEmpty()) {
+                updateProducts(updates.values());
+                for (PendingUpdate update : updates.values()) {
+                    changedProducts.add(toProduct(update.row, update.id));
+                }
+            }
+            if (!changedProducts.isEmpty()) {
+                eventPublisher.publishEvent(ProductChangedEvent.saved(changedProducts));
+            }
+            listener.onChunk(after);
+        });
+        return after;
+    }
+
+    private List<Long> insertProducts(List<ProductImportRow> rows) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_PRODUCT, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ProductImportRow row = rows.get(i);
+                        ps.setString(1, row.getName());
+                        ps.setString(2, row.getDescription());
+                        ps.setBigDecimal(3, row.getPrice());
+                        ps.setInt(4, row.getStock());
+                        ps.setString(5, row.getSku());
+                        ps.setString(6, row.getCategory());
+                        ps.setString(7, row.getSubCategory());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " generated ids, got " + keys.size());
+        }
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Map<String, Object> key : keys) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private void insertImages(List<ProductImportRow> rows, List<Long> ids) {
+        List<Object[]> args = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            List<String> urls = rows.get(i).getImageUrls();
+            for (int j = 0; j < urls.size(); j++) {
+                args.add(new Object[] { urls.get(j), j == 0, ids.get(i) }); // first image = main
+            }
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_IMAGE, args);
+        }
+    }
+
+    // Only the columns that changed, one JDBC batch per distinct column set
+    private void updateProducts(Collection<PendingUpdate> updates) {
+        Map<Integer, List<PendingUpdate>> byColumns = new LinkedHashMap<>();
+        for (PendingUpdate update : updates) {
+            byColumns.computeIfAbsent(update.columns, k -> new ArrayList<>()).add(update);
+        }
+
+        for (Map.Entry<Integer, List<PendingUpdate>> group : byColumns.entrySet()) {
+            int columns = group.getKey();
+            StringBuilder sql = new StringBuilder("UPDATE products SET ");
+            for (int c = 0; c < UPDATABLE_COLUMNS.length; c++) {
+                if ((columns & (1 << c)) == 0) continue;
+                if (sql.charAt(sql.length() - 1) == '?') sql.append(", ");
+                sql.append(UPDATABLE_COLUMNS[c]).append(" = ?");
+            }
+            sql.append(" WHERE id = ?");
+
+            List<Object[]> args = new ArrayList<>(group.getValue().size());
+            for (PendingUpdate update : group.getValue()) {
+                List<Object> values = new ArrayList<>(UPDATABLE_COLUMNS.length + 1);
+                for (int c = 0; c < UPDATABLE_COLUMNS.length; c++) {
+                    if ((columns & (1 << c)) != 0) values.add(columnValue(update.row, c));
+                }
+                values.add(update.id);
+                args.add(values.toArray());
+            }
+            jdbcTemplate.batchUpdate(sql.toString(), args);
+        }
+    }
+
+    // Detached stand-in carrying what the search/suggest indexes and caches read
+    private static Product toProduct(ProductImportRow row, Long id) {
+        return Product.builder()
+                .id(id)
+                .name(row.getName())
+                .description(row.getDescription())
+                .price(row.getPrice())
+                .stock(row.getStock())
+                .sku(row.getSku())
+                .category(row.getCategory())
+                .subCategory(row.getSubCategory())
+                .build();
+    }
+
+    // ===============================
+    // 🔹 Upsert by SKU
+    // ===============================
+
+    // Bit c of a column mask refers to UPDATABLE_COLUMNS[c]
+    private static final String[] UPDATABLE_COLUMNS =
+            { "name", "description", "price", "stock", "category", "sub_category" };
+
+    private static Object columnValue(ProductImportRow row, int column) {
+        switch (column) {
+            case 0: return row.getName();
+            case 1: return row.getDescription();
+            case 2: return row.getPrice();
+            case 3: return row.getStock();
+            case 4: return row.getCategory();
+            default: return row.getSubCategory();
+        }
+    }
+
+    private static class PendingUpdate {
+        final Long id;
+        final ProductImportRow row;
+        final int columns;
+
+        PendingUpdate(Long id, ProductImportRow row, int columns) {
+            this.id = id;
+            this.row = row;
+            this.columns = columns;
+        }
+    }
+
+    // What the database holds for a SKU (id is null while its insert is still pending in this chunk)
+    private static class ExistingProduct {
+        Long id;
+        int insertIndex;
+        String name;
+        String description;
+        BigDecimal price;
+        Integer stock;
+        String category;
+        String subCategory;
+
+        static ExistingProduct pendingInsert(int insertIndex, ProductImportRow row) {
+            ExistingProduct product = new ExistingProduct();
+            product.insertIndex = insertIndex;
+            product.apply(row);
+            return product;
+        }
+
+        int diff(ProductImportRow row) {
+            int columns = 0;
+            if (!Objects.equals(name, row.getName())) columns |= 1;
+            if (!Objects.equals(description, row.getDescription())) columns |= 1 << 1;
+            if (price == null || row.getPrice() == null ? price != row.getPrice() : price.compareTo(row.getPrice()) != 0) {
+                columns |= 1 << 2;
+            }
+            if (!Objects.equals(stock, row.getStock())) columns |= 1 << 3;
+            if (!Objects.equals(category, row.getCategory())) columns |= 1 << 4;
+            if (!Objects.equals(subCategory, row.getSubCategory())) columns |= 1 << 5;
+            return columns;
+        }
+
+        void apply(ProductImportRow row) {
+            name = row.getName();
+            description = row.getDescription();
+            price = row.getPrice();
+            stock = row.getStock();
+            category = row.getCategory();
+            subCategory = row.getSubCategory();
+        }
+    }
+
+    // One pass over the catalog; with duplicate SKUs already in the table the oldest product is the match
+    private Map<String, ExistingProduct> loadExistingBySku() {
+        Map<String, ExistingProduct> bySku = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT id, sku, name, description, price, stock, category, sub_category
+                FROM products
+                WHERE sku IS NOT NULL AND sku <> ''
+                ORDER BY id
+                """, (ResultSet rs) -> {
+            ExistingProduct product = new ExistingProduct();
+            product.id = rs.getLong("id");
+            product.name = rs.getString("name");
+            product.description = rs.getString("description");
+            product.price = rs.getBigDecimal("price");
+            product.stock = rs.getObject("stock", Integer.class);
+            product.category = rs.getString("category");
+            product.subCategory = rs.getString("sub_category");
+            bySku.putIfAbsent(rs.getString("sku").trim(), product);
+        });
+        System.out.println("📦 CSV upsert: loaded " + bySku.size() + " existing SKUs");
+        return bySku;
+    }
+
+    // ===============================
+    // 🔹 Validation
+    // ===============================
+
+    private static class RawRow {
+        final long rowNumber;
+        final String[] fields;
+
+        RawRow(long rowNumber, String[] fields) {
+            this.rowNumber = rowNumber;
+            this.fields = fields;
+        }
+    }
+
+    static class ValidatedChunk {
+        final List<ProductImportRow> rows = new ArrayList<>();
+        final List<RejectedRow> rejected = new ArrayList<>();
+        long lastRowNumber;
+    }
+
+    // Slices validate in parallel; joining them in submission order keeps file order
+    private CompletableFuture<ValidatedChunk> validate(List<RawRow> raw) {
+        List<CompletableFuture<ValidatedChunk>> slices = new ArrayList<>();
+        for (int from = 0; from < raw.size(); from += VALIDATION_SLICE_SIZE) {
+            List<RawRow> slice = raw.subList(from, Math.min(raw.size(), from + VALIDATION_SLICE_SIZE));
+            slices.add(CompletableFuture.supplyAsync(() -> validateSlice(slice), validationExecutor));
+        }
+
+        return CompletableFuture.allOf(slices.toArray(new CompletableFuture[0])).thenApply(done -> {
+            ValidatedChunk chunk = new ValidatedChunk();
+            for (CompletableFuture<ValidatedChunk> slice : slices) {
+                ValidatedChunk part = slice.join();
+                chunk.rows.addAll(part.rows);
+                chunk.rejected.addAll(part.rejected);
+                chunk.lastRowNumber = part.lastRowNumber;
+            }
+            return chunk;
+        });
+    }
+
+    private static ValidatedChunk validateSlice(List<RawRow> slice) {
+        ValidatedChunk result = new ValidatedChunk();
+        for (RawRow row : slice) {
+            try {
+                result.rows.add(toImportRow(row.fields));
+            } catch (IllegalArgumentException e) {
+                result.rejected.add(new RejectedRow(row.rowNumber, e.getMessage()));
+            }
+            result.lastRowNumber = row.rowNumber;
+        }
+        return result;
+    }
+
+    private static ProductImportRow toImportRow(String[] data) {
+        if (data.length < COLUMN_COUNT) {
+            throw new IllegalArgumentException("insufficient columns: expected " + COLUMN_COUNT + ", got " + data.length);
+        }
+
+        String name = data[0].trim();
+        if (name.isEmpty()) throw new IllegalArgumentException("name is required");
+        String description = data[1].trim();
+        String sku = data[4].trim();
+        String category = data[5].trim();
+        String subCategory = data[6].trim();
+        checkLength("name", name, NAME_LENGTH);
+        checkLength("description", description, DESCRIPTION_LENGTH);
+        checkLength("sku", sku, SKU_LENGTH);
+        checkLength("category", category, CATEGORY_LENGTH);
+        checkLength("subCategory", subCategory, SUB_CATEGORY_LENGTH);
+
+        // 🧮 Lenient numbers: currency symbols and thousands separators are dropped, but not a minus sign
+        if (data[2].indexOf('-') >= 0 || data[3].indexOf('-') >= 0) {
+            throw new IllegalArgumentException("price and stock can't be negative: '" + data[2] + "', '" + data[3] + "'");
+        }
+        String priceStr = keepDigits(data[2], true);
+        String stockStr = keepDigits(data[3], false);
+        BigDecimal price;
+        int stock;
+        try {
+            price = priceStr.isEmpty() ? BigDecimal.ZERO : new BigDecimal(priceStr);
+            stock = stockStr.isEmpty() ? 0 : Integer.parseInt(stockStr);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid price or stock: '" + data[2] + "', '" + data[3] + "'");
+        }
+        if (price.stripTrailingZeros().scale() > PRICE_SCALE) {
+            throw new IllegalArgumentException("price has more than " + PRICE_SCALE + " decimals: '" + data[2] + "'");
+        }
+        if (price.precision() - price.scale() > PRICE_INTEGER_DIGITS) {
+            throw new IllegalArgumentException("price is too large: '" + data[2] + "'");
+        }
+
+        // 🖼️ Multiple image URLs separated by ; or , (extra unquoted columns are treated as more URLs)
+        List<String> imageUrls = new ArrayList<>();
+        for (int i = COLUMN_COUNT - 1; i < data.length; i++) {
+            splitUrls(data[i], imageUrls);
+        }
+        for (String url : imageUrls) checkLength("image URL", url, IMAGE_URL_LENGTH);
+
+        return ProductImportRow.builder()
+                .name(name)
+                .description(description)
+                .price(price)
+                .stock(stock)
+                .sku(sku)
+                .category(category)
+                .subCategory(subCategory)
+                .imageUrls(imageUrls)
+                .build();
+    }
+
+    private static void checkLength(String field, String value, int max) {
+        // VARCHAR lengths count characters, not UTF-16 units
+        if (value.codePointCount(0, value.length()) > max) {
+            throw new IllegalArgumentException(field + " is longer than " + max + " characters");
+        }
+    }
+
+    private static Column columnOf(Class<?> entity, String field) {
+        try {
+            Column column = entity.getDeclaredField(field).getAnnotation(Column.class);
+            // Unannotated fields get the JPA default length of 255
+            return column != null ? column : DefaultColumn.class.getDeclaredField("value").getAnnotation(Column.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("No field " + field + " on " + entity.getSimpleName(), e);
+        }
+    }
+
+    // Holder for a @Column carrying nothing but the defaults
+    private static final class DefaultColumn {
+        @Column
+        Object value;
+    }
+
+    private static String keepDigits(String value, boolean allowDot) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c >= '0' && c <= '9') || (allowDot && c == '.')) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static void splitUrls(String value, List<String> out) {
+        int start = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i == value.length() || value.charAt(i) == ';' || value.charAt(i) == ',') {
+                String url = value.substring(start, i).trim();
+                if (!url.isEmpty()) out.add(url);
+                start = i + 1;
+            }
+        }
+    }
+
+    private static boolean isBlank(String[] record) {
+        for (String field : record) {
+            if (!field.isBlank()) return false;
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.neokart.Services;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neokart.DTO.ProductDetailDto;
+import com.neokart.DTO.ProductImageDto;
+import com.neokart.Entity.Product;
+import com.neokart.Event.ProductChangedEvent;
+import com.neokart.Repository.ProductRepository;
+import com.neokart.Repository.ProductVarientsRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Read-through cache of assembled product pages, keyed by product id. A miss
+ * costs two statements: the product with its images (entity graph) and a
+ * column projection of its variants. Entries are evicted on any
+ * ProductChangedEvent for the product, which covers updates, deletes,
+ * variant changes and new ratings.
+ *
+ * Hit/miss counts are published as the "cache.*" metrics with cache=productDetail.
+ */
+@Component
+public class ProductDetailCache {
+
+    public static final String CACHE_NAME = "productDetail";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductVarientsRepo variantRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${neokart.product-detail.max-entries:5000}")
+    private long maxEntries;
+
+    @Value("${neokart.product-detail.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    // Optional so unknown ids are cached too and don't hit the DB on every request
+    private Cache<Long, Optional<ProductDetailDto>> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public ProductDetailDto get(Long id) {
+        return cache.get(id, this::load).orElse(null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.invalidateAll(event.getProducts().stream()
+                .map(Product::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    private Optional<ProductDetailDto> load(Long id) {
+        return productRepository.findWithImagesById(id).map(product -> ProductDetailDto.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .sku(product.getSku())
+                .category(product.getCategory())
+                .subCategory(product.getSubCategory())
+                .averageRating(product.getAverageRating())
+                .ratingCount(product.getRatingCount())
+                .images(product.getImages().stream()
+                        .map(image -> ProductImageDto.builder()
+                                .id(image.getId())
+                                .imageUrl(image.getImageUrl())
+                                .thumbnailUrl(image.getThumbnailUrl())
+                                .mediumUrl(image.getMediumUrl())
+                                .largeUrl(image.getLargeUrl())
+                                .isPrimary(image.isPrimary())
+                                .build())
+                        .collect(Collectors.toUnmodifiableList()))
+                .variants(List.copyOf(variantRepository.findDtosByProductId(id)))
+                .build());
+    }
+
+}
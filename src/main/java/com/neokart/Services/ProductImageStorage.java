@@ -0,0 +1,248 @@
+package com.neokart.Services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.neokart.Entity.ImageBlob;
+import com.neokart.Entity.ProductImage;
+import com.neokart.Repository.ImageBlobRepository;
+import com.neokart.Storage.BlobStore;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Content-addressed storage for product images. A file is stored once under
+ * the key <first two hex chars>/<sha256>.<ext>, however many products use it;
+ * ImageBlob.refCount tracks the ProductImage rows pointing at it and the file
+ * (with its renditions) is only removed when the last one goes. The URL changes
+ * whenever the content does, so it can be cached forever.
+ *
+ * Call from inside the product transaction: reference counts commit or roll
+ * back with the product, and files are unlinked only after commit (or after a
+ * rollback, for files the transaction wrote). Before unlinking, the blob row
+ * is read FOR UPDATE in a new transaction, so an upload of the same content
+ * that is still in flight keeps its file.
+ */
+@Service
+public class ProductImageStorage {
+
+    public static final String DEFAULT_IMAGE_URL = BlobStore.urlOf("default-product.png");
+
+    // One per request thread: bounded by the pool size, and direct so channel I/O skips a heap copy
+    private static final ThreadLocal<ByteBuffer> COPY_BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(64 * 1024));
+
+    private static final Set<String> ALLOWED_EXTENSIONS =
+            Set.of("jpg", "jpeg", "png", "gif", "webp", "bmp", "avif");
+
+    @Autowired
+    private ImageBlobRepository blobRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${neokart.images.max-size:10MB}")
+    private DataSize maxSize;
+
+    // File cleanup runs after the product transaction has finished, so it needs its own
+    private TransactionTemplate cleanupTransaction;
+
+    @Getter
+    @AllArgsConstructor
+    public static class StoredImage {
+        private final String url;
+        private final String contentHash;
+    }
+
+    @PostConstruct
+    public void init() {
+        cleanupTransaction = new TransactionTemplate(transactionManager);
+        cleanupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public StoredImage store(MultipartFile file) throws IOException {
+        String extension = extensionOf(file.getOriginalFilename());
+        if (file.getSize() > maxSize.toBytes()) throw tooLarge(file);
+
+        Path tmp = blobStore.createTempFile();
+        try {
+            // Hashed while copying, so the upload is read exactly once and never held in heap
+            MessageDigest digest = newSha256();
+            long size = copy(file, tmp, digest);
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            // The first upload of a content decides its extension; later duplicates reuse it
+            blobRepository.addReference(hash, extension, size);
+            ImageBlob blob = blobRepository.findById(hash)
+                    .orElseThrow(() -> new IllegalStateException("Image blob vanished: " + hash));
+
+            String key = keyOf(hash, blob.getExtension());
+            if (!blobStore.exists(key)) {
+                blobStore.put(key, tmp);
+                // Nothing references the file if the product isn't saved after all
+                afterRollback(() -> deleteBlobFiles(hash, key));
+            }
+            return new StoredImage(BlobStore.urlOf(key), hash);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public void release(ProductImage image) {
+        String hash = image.getContentHash();
+        if (hash == null) {
+            deleteLegacyFiles(image);
+            return;
+        }
+
+        blobRepository.removeReference(hash);
+        if (blobRepository.deleteIfUnreferenced(hash) == 1) {
+            String key = BlobStore.keyOf(image.getImageUrl());
+            afterCommit(() -> deleteBlobFiles(hash, key));
+        }
+    }
+
+    // ===============================
+    // 🔹 Internals
+    // ===============================
+
+    // Streams the part through a per-thread direct buffer, enforcing the size limit as bytes
+    // arrive since the declared size can't be trusted
+    private long copy(MultipartFile file, Path target, MessageDigest digest) throws IOException {
+        ByteBuffer buffer = COPY_BUFFER.get();
+        long limit = maxSize.toBytes();
+        long total = 0;
+        try (ReadableByteChannel in = Channels.newChannel(file.getInputStream());
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.clear();
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                total += n;
+                if (total > limit) throw tooLarge(file);
+                buffer.flip();
+                digest.update(buffer);
+                buffer.rewind();
+                while (buffer.hasRemaining()) out.write(buffer);
+                buffer.clear();
+            }
+        }
+        return total;
+    }
+
+    private RuntimeException tooLarge(MultipartFile file) {
+        return new RuntimeException("❌ Image " + file.getOriginalFilename() + " is larger than " + maxSize);
+    }
+
+    // The files are unlinked while the row lock is held: an upload of the same content either
+    // committed its reference first (and the files stay), or waits and then finds them gone and
+    // writes them again
+    private void deleteBlobFiles(String hash, String key) {
+        if (key == null) return;
+        cleanupTransaction.executeWithoutResult(status -> {
+            if (blobRepository.lockByHash(hash).isPresent()) return;
+
+            List<String> keys = new ArrayList<>();
+            keys.add(key);
+            keys.addAll(ImageRenditionService.renditionKeys(key));
+            keys.forEach(this::deleteQuietly);
+        });
+    }
+
+    // Images stored before content addressing have unique file names; the shared default is kept
+    private void deleteLegacyFiles(ProductImage image) {
+        Set<String> urls = new LinkedHashSet<>();
+        urls.add(image.getImageUrl());
+        urls.add(image.getThumbnailUrl());
+        urls.add(image.getMediumUrl());
+        urls.add(image.getLargeUrl());
+        for (String url : urls) {
+            String key = BlobStore.keyOf(url);
+            if (key == null || key.isBlank()) continue;
+            if (url.equals(DEFAULT_IMAGE_URL) || key.startsWith("default-product_")) continue;
+            deleteQuietly(key);
+        }
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            blobStore.delete(key);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("⚠️ Failed to delete image file: " + key + " -> " + e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) action.run();
+            }
+        });
+    }
+
+    static String keyOf(String hash, String extension) {
+        return hash.substring(0, 2) + "/" + hash + "." + extension;
+    }
+
+    static String extensionOf(String fileName) {
+        int dot = fileName == null ? -1 : fileName.lastIndexOf('.');
+        String extension = dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        if (!ALLOWED_EXTENSIONS.contains(extension)) {
+            throw new RuntimeException("❌ Unsupported image type: " + fileName);
+        }
+        return extension.equals("jpeg") ? "jpg" : extension;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.neokart.Services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.neokart.Entity.ProductImportJob;
+import com.neokart.Entity.ProductImportRejection;
+import com.neokart.Enum.ImportJobStatus;
+import com.neokart.Enum.ImportMode;
+import com.neokart.Repository.ProductImportJobRepository;
+import com.neokart.Repository.ProductImportRejectionRepository;
+
+/**
+ * Bulk CSV uploads as background jobs. The upload is copied to
+ * neokart.import.dir and a job row is created; a worker on importExecutor then
+ * streams the file through ProductCsvImporter. Progress and rejected rows are
+ * written in the same transaction as each chunk, so after a restart a QUEUED
+ * or RUNNING job picks up right after its last committed chunk.
+ */
+@Service
+public class ProductImportService {
+
+    private static final int MAX_REASON_LENGTH = 255;
+
+    @Autowired
+    private ProductCsvImporter productCsvImporter;
+
+    @Autowired
+    private ProductImportJobRepository jobRepository;
+
+    @Autowired
+    private ProductImportRejectionRepository rejectionRepository;
+
+    @Autowired
+    @Qualifier("importExecutor")
+    private TaskExecutor importExecutor;
+
+    @Value("${neokart.import.dir:imports}")
+    private String importDir;
+
+    // ===============================
+    // 🔹 Submit & query
+    // ===============================
+
+    public ProductImportJob submit(MultipartFile file, ImportMode mode, String requestedBy) throws IOException {
+        if (file.isEmpty()) throw new RuntimeException("CSV file is empty");
+
+        Path dir = Paths.get(importDir).toAbsolutePath();
+        Files.createDirectories(dir);
+        Path stored = dir.resolve(UUID.randomUUID() + ".csv");
+        file.transferTo(stored);
+
+        ProductImportJob job = jobRepository.save(ProductImportJob.builder()
+                .fileName(file.getOriginalFilename())
+                .storedPath(stored.toString())
+                .requestedBy(requestedBy)
+                .status(ImportJobStatus.QUEUED)
+                .mode(mode)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        Long jobId = job.getId();
+        importExecutor.execute(() -> run(jobId));
+        return job;
+    }
+
+    public ProductImportJob getJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("❌ Import job not found with ID: " + jobId));
+    }
+
+    public Page<ProductImportRejection> getRejections(Long jobId, int page, int size) {
+        return rejectionRepository.findByJobIdOrderByCsvRow(jobId, PageRequest.of(page, size));
+    }
+
+    // Jobs interrupted by a shutdown or crash carry on where their last chunk committed
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<ProductImportJob> pending = jobRepository.findByStatusInOrderById(
+                List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING));
+        for (ProductImportJob job : pending) {
+            System.out.println("🔁 Resuming product import job " + job.getId() + " after row " + job.getRowsRead());
+            Long jobId = job.getId();
+            importExecutor.execute(() -> run(jobId));
+        }
+    }
+
+    // ===============================
+    // 🔹 Worker
+    // ===============================
+
+    void run(Long jobId) {
+        ProductImportJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == ImportJobStatus.COMPLETED || job.getStatus() == ImportJobStatus.FAILED) {
+            return;
+        }
+
+        job.setStatus(ImportJobStatus.RUNNING);
+        if (job.getStartedAt() == null) job.setStartedAt(LocalDateTime.now());
+        jobRepository.save(job);
+
+        Path file = Paths.get(job.getStoredPath());
+        ProductCsvImporter.Progress resumeFrom =
+                new ProductCsvImporter.Progress(job.getRowsRead(), job.getRowsImported(), job.getRowsUpdated(),
+                        job.getRowsUnchanged(), job.getRowsRejected(), List.of());
+
+        try (InputStream in = Files.newInputStream(file)) {
+            ProductCsvImporter.Progress result = productCsvImporter.importCsv(in, job.getMode(), resumeFrom, progress -> {
+                jobRepository.updateProgress(jobId, progress.getRowsRead(), progress.getRowsImported(),
+                        progress.getRowsUpdated(), progress.getRowsUnchanged(), progress.getRowsRejected());
+                if (!progress.getRejectedInChunk().isEmpty()) {
+                    rejectionRepository.saveAll(progress.getRejectedInChunk().stream()
+                            .map(row -> ProductImportRejection.builder()
+                                    .jobId(jobId)
+                                    .csvRow(row.getRowNumber())
+                                    .reason(truncate(row.getReason()))
+                                    .build())
+                            .collect(Collectors.toList()));
+                }
+            });
+            finish(jobId, ImportJobStatus.COMPLETED, null);
+            System.out.println("✅ Product import job " + jobId + " finished: " + result.getRowsImported()
+                    + " imported, " + result.getRowsUpdated() + " updated, " + result.getRowsUnchanged()
+                    + " unchanged, " + result.getRowsRejected() + " rejected");
+        } catch (Exception e) {
+            finish(jobId, ImportJobStatus.FAILED, e.getMessage());
+            System.err.println("❌ Product import job " + jobId + " failed: " + e.getMessage());
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not delete import file " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void finish(Long jobId, ImportJobStatus status, String errorMessage) {
+        ProductImportJob job = getJob(jobId); // re-read: the row counts were updated in bulk
+        job.setStatus(status);
+        job.setErrorMessage(errorMessage == null ? null : errorMessage.substring(0, Math.min(errorMessage.length(), 1000)));
+        job.setFinishedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    private static String truncate(String reason) {
+        if (reason == null || reason.length() <= MAX_REASON_LENGTH) return reason;
+        return reason.substring(0, MAX_REASON_LENGTH);
+    }
+
+}
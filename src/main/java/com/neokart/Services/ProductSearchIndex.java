@@ -0,0 +1,285 @@
+package com.neokart.Services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.neokart.DTO.ProductSearchDocument;
+import com.neokart.Entity.Product;
+import com.neokart.Event.ProductChangedEvent;
+import com.neokart.Repository.ProductRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * In-process inverted index over product name, description, category,
+ * subCategory and sku. Built from the database on startup and kept current
+ * from ProductChangedEvent, so search never scans the products table.
+ *
+ * Every query token must match (AND); each token matches indexed terms by
+ * prefix, with exact terms ranked above prefix-only matches.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float SKU_WEIGHT = 3.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float SUB_CATEGORY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float PREFIX_MATCH_BOOST = 0.5f;
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (productId -> field-weighted term score)
+    private NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    // productId -> indexed terms, needed to unindex on update/delete
+    private Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+    // Products changed while a rebuild is reading the table (null otherwise); guarded by lock
+    private Set<Long> changedDuringRebuild;
+
+    // Ranking order: score descending, newer product first on ties
+    private static final Comparator<Map.Entry<Long, Float>> BEST_FIRST =
+            Map.Entry.<Long, Float>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Long, Float>comparingByKey().reversed());
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hits {
+        private final List<Long> productIds; // requested page, best match first
+        private final long totalHits;
+    }
+
+    // ===============================
+    // 🔹 Build & maintenance
+    // ===============================
+
+    /**
+     * Reads the whole table into fresh maps without blocking searches, then swaps
+     * them in. Events arriving meanwhile still update the live maps and are also
+     * recorded; those products are re-read into the new maps at the swap, since
+     * the batch that read them may have been older than the change.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        NavigableMap<String, Map<Long, Float>> newPostings = new TreeMap<>();
+        Map<Long, Set<String>> newDocumentTerms = new HashMap<>();
+        try {
+            long afterId = 0L;
+            List<ProductSearchDocument> batch;
+            do {
+                batch = productRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (ProductSearchDocument doc : batch) {
+                    addDocument(doc, newPostings, newDocumentTerms);
+                    afterId = doc.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            documentTerms = newDocumentTerms;
+            // Under the lock, so no later event can be overwritten by this (older or equal) read
+            if (!changedDuringRebuild.isEmpty()) {
+                Map<Long, ProductSearchDocument> current = new HashMap<>();
+                productRepository.findSearchDocumentsByIdIn(changedDuringRebuild)
+                        .forEach(doc -> current.put(doc.getId(), doc));
+                for (Long productId : changedDuringRebuild) {
+                    removeDocument(productId);
+                    ProductSearchDocument doc = current.get(productId);
+                    if (doc != null) addDocument(doc, postings, documentTerms);
+                }
+            }
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("✅ Product search index built with " + newDocumentTerms.size() + " products");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ProductChangedEvent.Type.RATED
+                || event.getType() == ProductChangedEvent.Type.STOCK
+                || event.getType() == ProductChangedEvent.Type.IMAGES) return;
+
+        lock.writeLock().lock();
+        try {
+            for (Product product : event.getProducts()) {
+                if (product.getId() == null) continue;
+                if (changedDuringRebuild != null) changedDuringRebuild.add(product.getId());
+                removeDocument(product.getId());
+                if (event.getType() == ProductChangedEvent.Type.SAVED) {
+                    addDocument(toDocument(product), postings, documentTerms);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===============================
+    // 🔹 Query
+    // ===============================
+
+    public Hits search(String query, int page, int size) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || size <= 0) return new Hits(List.of(), 0);
+
+        Map<Long, Float> scores = null;
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documentTerms.size();
+            for (String token : tokens) {
+                Map<Long, Float> tokenScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Float>> term
+                        : postings.subMap(token, true, token + Character.MAX_VALUE, true).entrySet()) {
+                    Map<Long, Float> posting = term.getValue();
+                    float idf = (float) Math.log(1.0 + (double) documentCount / posting.size());
+                    float boost = term.getKey().length() == token.length() ? 1.0f : PREFIX_MATCH_BOOST;
+                    for (Map.Entry<Long, Float> hit : posting.entrySet()) {
+                        tokenScores.merge(hit.getKey(), hit.getValue() * idf * boost, Math::max);
+                    }
+                }
+
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) break;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Only the best (page + 1) * size hits are ever ordered: a bounded heap with the
+        // weakest kept hit on top, so broad terms cost O(n log k) instead of a full sort
+        long from = (long) page * size;
+        if (from >= scores.size()) return new Hits(List.of(), scores.size());
+        int keep = (int) Math.min(scores.size(), from + size);
+
+        PriorityQueue<Map.Entry<Long, Float>> top = new PriorityQueue<>(keep + 1, BEST_FIRST.reversed());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            if (top.size() < keep) {
+                top.add(entry);
+            } else if (BEST_FIRST.compare(entry, top.peek()) < 0) {
+                top.poll();
+                top.add(entry);
+            }
+        }
+
+        Long[] ranked = new Long[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = top.poll().getKey();
+        }
+        List<Long> ids = new ArrayList<>(keep - (int) from);
+        for (int i = (int) from; i < ranked.length; i++) {
+            ids.add(ranked[i]);
+        }
+        return new Hits(ids, scores.size());
+    }
+
+    // ===============================
+    // 🔹 Internals
+    // ===============================
+
+    private static void addDocument(ProductSearchDocument doc,
+                                    NavigableMap<String, Map<Long, Float>> postings,
+                                    Map<Long, Set<String>> documentTerms) {
+        Map<String, Float> termWeights = new HashMap<>();
+        accumulate(termWeights, doc.getName(), NAME_WEIGHT);
+        accumulate(termWeights, doc.getSku(), SKU_WEIGHT);
+        accumulate(termWeights, doc.getCategory(), CATEGORY_WEIGHT);
+        accumulate(termWeights, doc.getSubCategory(), SUB_CATEGORY_WEIGHT);
+        accumulate(termWeights, doc.getDescription(), DESCRIPTION_WEIGHT);
+
+        for (Map.Entry<String, Float> entry : termWeights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(doc.getId(), entry.getValue());
+        }
+        documentTerms.put(doc.getId(), termWeights.keySet());
+    }
+
+    private void removeDocument(Long productId) {
+        Set<String> terms = documentTerms.remove(productId);
+        if (terms == null) return;
+        for (String term : terms) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting == null) continue;
+            posting.remove(productId);
+            if (posting.isEmpty()) postings.remove(term);
+        }
+    }
+
+    private static void accumulate(Map<String, Float> termWeights, String text, float weight) {
+        for (String token : tokenize(text)) {
+            termWeights.merge(token, weight, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return Collections.emptyList();
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static ProductSearchDocument toDocument(Product product) {
+        return new ProductSearchDocument(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getCategory(),
+                product.getSubCategory(),
+                product.getSku(),
+                product.getAverageRating(),
+                product.getRatingCount()
+        );
+    }
+
+}
@@ -1,40 +1,38 @@
 package com.neokart.Services;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.neokart.DTO.CursorPageResponse;
+import com.neokart.DTO.ProductDetailDto;
+import com.neokart.DTO.ProductSuggestionDto;
+import com.neokart.DTO.ProductSummaryDto;
 import com.neokart.DTO.ProductWithRatingDTO;
 import com.neokart.Entity.Product;
 import com.neokart.Entity.ProductImage;
 import com.neokart.Entity.ProductRating;
 import com.neokart.Entity.User;
+import com.neokart.Event.ProductChangedEvent;
 import com.neokart.Repository.ProductImageRepo;
 import com.neokart.Repository.ProductRatingRepository;
 import com.neokart.Repository.ProductRepository;
 import com.neokart.Repository.UserRepository;
+import com.neokart.Util.CatalogCursor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -55,8 +53,32 @@ public class ProductService {
     @Autowired
     private final ProductRatingRepository ratingRepository;
 
-    @Value("${file.upload-dir:uploads}")
-    private String uploadDir;
+    @Autowired
+    private final ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private final ProductSuggestIndex productSuggestIndex;
+
+    @Autowired
+    private final CategoryTreeCache categoryTreeCache;
+
+    @Autowired
+    private final RelatedProductsCache relatedProductsCache;
+
+    @Autowired
+    private final ProductDetailCache productDetailCache;
+
+    @Autowired
+    private final ProductImageStorage productImageStorage;
+
+    @Autowired
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Upper bound for search pages, whatever the client asks for
+    public static final int MAX_SEARCH_PAGE_SIZE = 50;
+
+    // Same for keyset catalog pages
+    public static final int MAX_CATALOG_PAGE_SIZE = 100;
 
 
 
@@ -65,12 +87,19 @@ public class ProductService {
         return productRepository.findById(id).orElse(null);
     }
 
+    // Product page view, served from ProductDetailCache; null when the id is unknown
+    public ProductDetailDto getProductDetail(Long id) {
+        return productDetailCache.get(id);
+    }
+
     // Add product (supports multiple images)
     @Transactional
     public Product addProduct(Product product, List<MultipartFile> images) throws IOException {
         if (product.getImages() == null) product.setImages(new ArrayList<>());
         handleMultipleImageUpload(product, images);
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(saved));
+        return saved;
     }
 
     // Update product (replace images if provided)
@@ -90,7 +119,7 @@ public class ProductService {
 
         // If new images provided -> clear old images + upload new
         if (images != null && !images.isEmpty()) {
-            deleteImageFilesForProduct(existing);
+            releaseImages(existing);
             existing.getImages().clear(); // orphanRemoval will delete from DB
             handleMultipleImageUpload(existing, images);
         } else if (existing.getImages() == null || existing.getImages().isEmpty()) {
@@ -98,7 +127,9 @@ public class ProductService {
             handleMultipleImageUpload(existing, null);
         }
 
-        return productRepository.save(existing);
+        Product saved = productRepository.save(existing);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(saved));
+        return saved;
     }
 
     // Delete product + all associated images
@@ -107,8 +138,9 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("❌ Product not found"));
 
-        deleteImageFilesForProduct(product); // delete from disk
+        releaseImages(product);              // unlink files no longer referenced
         productRepository.delete(product);   // cascade deletes images
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(product));
     }
 
     // ===============================
@@ -122,14 +154,12 @@ public class ProductService {
             for (int i = 0; i < images.size(); i++) {
                 MultipartFile image = images.get(i);
                 if (image != null && !image.isEmpty()) {
-                    String fileName = System.currentTimeMillis() + "_" + image.getOriginalFilename();
-                    Path filePath = Paths.get(uploadDir, fileName);
-                    Files.createDirectories(filePath.getParent());
-                    Files.write(filePath, image.getBytes());
+                    ProductImageStorage.StoredImage stored = productImageStorage.store(image);
 
                     uploadedImages.add(
                         ProductImage.builder()
-                                .imageUrl("/uploads/" + fileName)
+                                .imageUrl(stored.getUrl())
+                                .contentHash(stored.getContentHash())
                                 .isPrimary(i == 0) // first image is main
                                 .product(product)
                                 .build()
@@ -142,7 +172,7 @@ public class ProductService {
         if (uploadedImages.isEmpty()) {
             uploadedImages.add(
                 ProductImage.builder()
-                        .imageUrl("/uploads/default-product.png")
+                        .imageUrl(ProductImageStorage.DEFAULT_IMAGE_URL)
                         .isPrimary(true)
                         .product(product)
                         .build()
@@ -152,66 +182,61 @@ public class ProductService {
         product.getImages().addAll(uploadedImages);
     }
 
-    // Delete product images from disk
-    private void deleteImageFilesForProduct(Product product) {
+    // Drop this product's references; files go once no other product uses them
+    private void releaseImages(Product product) {
         if (product.getImages() == null) return;
-        for (ProductImage img : product.getImages()) {
-            if (img.getImageUrl() != null && !img.getImageUrl().isBlank()) {
-                String filePathStr = img.getImageUrl().replace("/uploads/", "");
-                Path filePath = Paths.get(uploadDir, filePathStr);
-                try {
-                    if (Files.exists(filePath)) Files.delete(filePath);
-                } catch (IOException e) {
-                    System.err.println("⚠️ Failed to delete image file: " + filePath + " -> " + e.getMessage());
-                }
-            }
-        }
+        product.getImages().forEach(productImageStorage::release);
     }
 
 
 
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    // List endpoints use column projections; full entities are only loaded for detail views
+    public List<ProductSummaryDto> getAllProducts() {
+        return productRepository.findAllSummaries();
     }
 
-    public List<Product> getProductsByCategory(String category) {
-        return productRepository.findByCategoryIgnoreCase(category);
+    public List<ProductSummaryDto> getProductsByCategory(String category) {
+        return productRepository.findSummariesByCategory(category);
+    }
+
+    // Category navigation is served from CategoryTreeCache (one DISTINCT query per change)
+    public CategoryTreeCache.Snapshot getCategoryTree() {
+        return categoryTreeCache.get();
     }
 
     public List<String> getAllCategories() {
-        return productRepository.findAll()
-                .stream()
-                .map(Product::getCategory)
-                .filter(Objects::nonNull)
-                .distinct()
-                .collect(Collectors.toList());
+        return categoryTreeCache.get().getCategories();
     }
 
     public List<Map<String, Object>> getCategoriesWithSubCategories() {
-        List<Product> products = productRepository.findAll();
-        Map<String, Set<String>> categoryMap = new HashMap<>();
-
-        for (Product p : products) {
-            categoryMap.computeIfAbsent(p.getCategory(), k -> new HashSet<>())
-                       .add(p.getSubCategory());
-        }
+        return categoryTreeCache.get().getTree();
+    }
 
-        return categoryMap.entrySet().stream()
-                .map(entry -> Map.of(
-                        "category", entry.getKey(),
-                        "subCategories", entry.getValue()
-                ))
-                .collect(Collectors.toList());
+    public List<ProductSummaryDto> getProductsByCategoryAndSubcategory(String category, String subCategory) {
+        return productRepository.findSummariesByCategoryAndSubCategory(category, subCategory);
     }
 
-    public List<Product> getProductsByCategoryAndSubcategory(String category, String subCategory) {
-        return productRepository.findByCategoryIgnoreCaseAndSubCategoryIgnoreCase(category, subCategory);
+    // Served from the in-memory index; only the requested page is loaded, as a projection
+    public Page<ProductSummaryDto> searchProducts(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        ProductSearchIndex.Hits hits = productSearchIndex.search(query, pageNumber, pageSize);
+        List<ProductSummaryDto> content = List.of();
+        if (!hits.getProductIds().isEmpty()) {
+            Map<Long, ProductSummaryDto> byId = productRepository.findSummariesByIdIn(hits.getProductIds()).stream()
+                    .collect(Collectors.toMap(ProductSummaryDto::getId, dto -> dto));
+            content = hits.getProductIds().stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+        return new PageImpl<>(content, PageRequest.of(pageNumber, pageSize), hits.getTotalHits());
     }
 
-    public List<Product> searchProducts(String query) {
-        return productRepository.findByNameContainingIgnoreCaseOrCategoryContainingIgnoreCaseOrSubCategoryContainingIgnoreCase(
-                query, query, query
-        );
+    // Type-ahead: answered from memory, never hits the database
+    public List<ProductSuggestionDto> suggest(String prefix, int limit) {
+        return productSuggestIndex.suggest(prefix, limit);
     }
 
     // ===============================
@@ -219,44 +244,126 @@ public class ProductService {
     // ===============================
 
     public Page<ProductWithRatingDTO> getFilteredAndSortedProducts(String category, String sortBy, int page, int size) {
-        PageRequest pageRequest = PageRequest.of(page, size);
-        Page<Product> productPage;
-
-        if (category != null && !category.equalsIgnoreCase("all") && !category.isBlank()) {
-            productPage = productRepository.findByCategoryIgnoreCase(category, pageRequest);
-        } else {
-            productPage = productRepository.findAll(pageRequest);
-        }
-
-        List<ProductWithRatingDTO> dtoList = productPage.getContent().stream()
-                .map(product -> {
-                    Double avgRating = ratingRepository.findAverageRatingByProductId(product.getId());
-                    return new ProductWithRatingDTO(product, avgRating == null ? 0.0 : avgRating);
-                }).collect(Collectors.toList());
+        String categoryFilter = (category != null && !category.equalsIgnoreCase("all") && !category.isBlank())
+                ? category
+                : null;
+        Sort sort;
 
+        // Sorting happens in the query so every page is a slice of the globally sorted catalog;
+        // id is the tie-breaker that keeps page boundaries stable for equal keys
         switch ((sortBy == null ? "" : sortBy).toLowerCase()) {
             case "price_asc":
-                dtoList.sort(Comparator.comparing(p -> p.getProduct().getPrice()));
+                sort = Sort.by(Sort.Direction.ASC, "price", "id");
                 break;
             case "price_desc":
-                dtoList.sort(Comparator.comparing((ProductWithRatingDTO p) -> p.getProduct().getPrice()).reversed());
+                sort = Sort.by(Sort.Direction.DESC, "price", "id");
                 break;
             case "rating_asc":
-                dtoList.sort(Comparator.comparing(ProductWithRatingDTO::getAverageRating));
+                sort = Sort.by(Sort.Direction.ASC, "averageRating", "id");
                 break;
             case "rating_desc":
             default:
-                dtoList.sort(Comparator.comparing(ProductWithRatingDTO::getAverageRating).reversed());
+                sort = Sort.by(Sort.Direction.DESC, "averageRating", "id");
                 break;
         }
 
-        return new PageImpl<>(dtoList, pageRequest, productPage.getTotalElements());
+        PageRequest pageRequest = PageRequest.of(page, size, sort);
+        Page<Product> productPage = categoryFilter != null
+                ? productRepository.findPageByCategory(categoryFilter, pageRequest)
+                : productRepository.findAll(pageRequest);
+
+        // Rating aggregates are stored on the product, no per-page aggregation needed
+        return productPage.map(product ->
+                new ProductWithRatingDTO(product, product.getAverageRating(), product.getRatingCount()));
+    }
+
+    // Keyset mode: constant-cost pages at any depth, COUNT only on request
+    public CursorPageResponse<ProductSummaryDto> getProductsAfter(String category, String sortBy, String after,
+                                                                  int size, boolean includeTotal) {
+        String categoryFilter = (category != null && !category.equalsIgnoreCase("all") && !category.isBlank())
+                ? category
+                : null;
+        String sort = (sortBy == null ? "" : sortBy).toLowerCase();
+        if (!List.of("price_asc", "price_desc", "rating_asc").contains(sort)) sort = "rating_desc";
+
+        CatalogCursor cursor = (after == null || after.isBlank()) ? null : CatalogCursor.decode(after, sort);
+        int pageSize = Math.max(1, Math.min(size, MAX_CATALOG_PAGE_SIZE));
+        // one extra row tells us whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<ProductSummaryDto> rows = cursor == null
+                ? firstCatalogPage(categoryFilter, sort, limit)
+                : nextCatalogPage(categoryFilter, sort, cursor, limit);
+
+        boolean last = rows.size() <= pageSize;
+        List<ProductSummaryDto> pageRows = last ? rows : rows.subList(0, pageSize);
+
+        String nextCursor = null;
+        if (!last) {
+            ProductSummaryDto tail = pageRows.get(pageRows.size() - 1);
+            String key = sort.startsWith("price") ? tail.getPrice().toPlainString() : String.valueOf(tail.getAverageRating());
+            nextCursor = new CatalogCursor(sort, key, tail.getId()).encode();
+        }
+
+        Long total = null;
+        if (includeTotal) {
+            total = categoryFilter != null
+                    ? productRepository.countByCategory(categoryFilter)
+                    : productRepository.count();
+        }
+
+        return new CursorPageResponse<>(new ArrayList<>(pageRows), pageSize, nextCursor, last, total);
+    }
+
+    private List<ProductSummaryDto> firstCatalogPage(String category, String sort, PageRequest limit) {
+        Sort order = switch (sort) {
+            case "price_asc" -> Sort.by(Sort.Direction.ASC, "price", "id");
+            case "price_desc" -> Sort.by(Sort.Direction.DESC, "price", "id");
+            case "rating_asc" -> Sort.by(Sort.Direction.ASC, "averageRating", "id");
+            default -> Sort.by(Sort.Direction.DESC, "averageRating", "id");
+        };
+        PageRequest sorted = limit.withSort(order);
+        return category == null
+                ? productRepository.findSummaryPage(sorted)
+                : productRepository.findSummaryPageByCategory(category, sorted);
+    }
+
+    private List<ProductSummaryDto> nextCatalogPage(String category, String sort, CatalogCursor cursor,
+                                                    PageRequest limit) {
+        Long afterId = cursor.getId();
+        switch (sort) {
+            case "price_asc": {
+                BigDecimal afterPrice = new BigDecimal(cursor.getSortKey());
+                return category == null
+                        ? productRepository.findPriceAscAfter(afterPrice, afterId, limit)
+                        : productRepository.findPriceAscAfter(category, afterPrice, afterId, limit);
+            }
+            case "price_desc": {
+                BigDecimal afterPrice = new BigDecimal(cursor.getSortKey());
+                return category == null
+                        ? productRepository.findPriceDescAfter(afterPrice, afterId, limit)
+                        : productRepository.findPriceDescAfter(category, afterPrice, afterId, limit);
+            }
+            case "rating_asc": {
+                Double afterRating = Double.valueOf(cursor.getSortKey());
+                return category == null
+                        ? productRepository.findRatingAscAfter(afterRating, afterId, limit)
+                        : productRepository.findRatingAscAfter(category, afterRating, afterId, limit);
+            }
+            default: {
+                Double afterRating = Double.valueOf(cursor.getSortKey());
+                return category == null
+                        ? productRepository.findRatingDescAfter(afterRating, afterId, limit)
+                        : productRepository.findRatingDescAfter(category, afterRating, afterId, limit);
+            }
+        }
     }
 
     // ===============================
     // 🔹 Ratings
     // ===============================
 
+    @Transactional
     public ProductRating addRating(Product product, User user, int stars, String comment) {
         if (ratingRepository.existsByProductAndUser(product, user)) {
             throw new RuntimeException("⚠️ You have already rated this product");
@@ -266,7 +373,18 @@ public class ProductService {
         rating.setUser(user);
         rating.setStars(stars);
         rating.setComment(comment);
-        return ratingRepository.save(rating);
+        ProductRating saved = ratingRepository.save(rating);
+
+        // Atomic in-place increment so concurrent raters don't lose updates
+        productRepository.applyRating(product.getId(), stars);
+        eventPublisher.publishEvent(ProductChangedEvent.rated(product));
+        return saved;
+    }
+
+    // Recompute rating aggregates for every product from the ratings table
+    @Transactional
+    public int rebuildRatingAggregates() {
+        return productRepository.rebuildRatingAggregates();
     }
 
     public List<ProductRating> getRatingsByProduct(Product product) {
@@ -322,79 +440,11 @@ public class ProductService {
 //        return products.size();
 //    }
     
-    public int saveProductsFromCsv(MultipartFile file) throws IOException {
-        List<Product> products = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            String header = reader.readLine(); // Skip header
-            if (header == null) throw new IOException("Empty CSV file");
-
-            String line;
-            int lineNumber = 0;
-
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                if (line.trim().isEmpty()) continue;
-
-                String[] data = line.split(",", -1); // keep empty cells
-
-                if (data.length < 8) {
-                    System.err.println("⚠️ Skipping line " + lineNumber + " - insufficient columns");
-                    continue;
-                }
-
-                try {
-                    Product product = new Product();
-                    product.setName(data[0].trim());
-                    product.setDescription(data[1].trim());
-
-                    // 🧮 Safe numeric parsing
-                    String priceStr = data[2].replaceAll("[^0-9.]", "").trim();
-                    String stockStr = data[3].replaceAll("[^0-9]", "").trim();
-                    product.setPrice(new BigDecimal(priceStr.isEmpty() ? "0" : priceStr));
-                    product.setStock(Integer.parseInt(stockStr.isEmpty() ? "0" : stockStr));
-
-                    product.setSku(data[4].trim());
-                    product.setCategory(data[5].trim());
-                    product.setSubCategory(data[6].trim());
-
-                    // 🖼️ Multiple image URLs
-                    String imageUrls = data[7].trim();
-                    List<ProductImage> imageList = new ArrayList<>();
-
-                    if (!imageUrls.isEmpty()) {
-                        String[] urls = imageUrls.split("[;,]"); // both , and ; accepted
-                        for (int i = 0; i < urls.length; i++) {
-                            String url = urls[i].trim();
-                            if (!url.isEmpty()) {
-                                ProductImage image = ProductImage.builder()
-                                        .imageUrl(url)
-                                        .isPrimary(i == 0) // first image = main
-                                        .product(product)
-                                        .build();
-                                imageList.add(image);
-                            }
-                        }
-                    }
-
-                    product.setImages(imageList);
-                    products.add(product);
-
-                } catch (Exception e) {
-                    System.err.println("⚠️ Skipping invalid line " + lineNumber + ": " + e.getMessage());
-                }
-            }
-        }
-
-        // 💾 Save all products (images cascade automatically)
-        productRepository.saveAll(products);
-        return products.size();
-    }
 
 
  
-    public List<ProductWithRatingDTO> getRelatedWithRating(String category, Long productId) {
-        return productRepository.findRelatedWithRating(category, productId);
+    public List<ProductSummaryDto> getRelatedProducts(String category, Long productId) {
+        return relatedProductsCache.get(category, productId);
     }
 
 }
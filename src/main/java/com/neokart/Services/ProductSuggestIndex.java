@@ -0,0 +1,367 @@
+package com.neokart.Services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.neokart.DTO.ProductSearchDocument;
+import com.neokart.DTO.ProductSuggestionDto;
+import com.neokart.Entity.Product;
+import com.neokart.Event.ProductChangedEvent;
+import com.neokart.Repository.ProductRepository;
+
+/**
+ * Type-ahead suggestions from an in-memory prefix trie over product names,
+ * categories and subcategories. Every suggestion is reachable from the start
+ * of each of its words, and each trie node caches its best MAX_SUGGESTIONS
+ * entries, so a lookup is a walk down the prefix with no sorting and no DB.
+ *
+ * Weights come from ratings (1 + averageRating * ratingCount per product;
+ * categories sum their products), so well-reviewed items surface first.
+ */
+@Component
+public class ProductSuggestIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final Comparator<Suggestion> BY_WEIGHT =
+            Comparator.comparingDouble((Suggestion s) -> s.weight).reversed()
+                    .thenComparing(s -> s.text);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Trie trie = new Trie();
+
+    // Products changed while a rebuild is reading the table (null otherwise); guarded by lock
+    private Set<Long> changedDuringRebuild;
+
+    private static class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        final Set<Suggestion> terminals = new HashSet<>();
+        List<Suggestion> top = List.of();
+    }
+
+    private static class Suggestion {
+        final String key;
+        final String text;
+        final String type;
+        final Long productId;
+        final String category;
+        double weight;
+        int productCount; // categories and subcategories only
+
+        Suggestion(String key, String text, String type, Long productId, String category) {
+            this.key = key;
+            this.text = text;
+            this.type = type;
+            this.productId = productId;
+            this.category = category;
+        }
+
+        ProductSuggestionDto toDto() {
+            return new ProductSuggestionDto(text, type, productId, category);
+        }
+    }
+
+    private static class ProductEntry {
+        final String category;
+        final String subCategory;
+        final double weight;
+
+        ProductEntry(String category, String subCategory, double weight) {
+            this.category = category;
+            this.subCategory = subCategory;
+            this.weight = weight;
+        }
+    }
+
+    // ===============================
+    // 🔹 Build & maintenance
+    // ===============================
+
+    /**
+     * Builds a fresh trie batch by batch without blocking lookups, then swaps it
+     * in. Events arriving meanwhile still update the live trie and are also
+     * recorded; those products are re-read into the new trie at the swap, since
+     * the batch that read them may have been older than the change.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Trie fresh = new Trie();
+        try {
+            long afterId = 0L;
+            List<ProductSearchDocument> batch;
+            do {
+                batch = productRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (ProductSearchDocument doc : batch) {
+                    fresh.addProduct(doc);
+                    afterId = doc.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            trie = fresh;
+            // Under the lock, so no later event can be overwritten by this (older or equal) read
+            if (!changedDuringRebuild.isEmpty()) {
+                Map<Long, ProductSearchDocument> current = new HashMap<>();
+                productRepository.findSearchDocumentsByIdIn(changedDuringRebuild)
+                        .forEach(doc -> current.put(doc.getId(), doc));
+                for (Long productId : changedDuringRebuild) {
+                    trie.removeProduct(productId);
+                    ProductSearchDocument doc = current.get(productId);
+                    if (doc != null) trie.addProduct(doc);
+                }
+            }
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("✅ Product suggest index built with " + fresh.suggestions.size() + " entries");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        // Suggestions show neither stock nor images
+        if (event.getType() == ProductChangedEvent.Type.STOCK
+                || event.getType() == ProductChangedEvent.Type.IMAGES) return;
+
+        List<Long> ids = event.getProducts().stream()
+                .map(Product::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) return;
+
+        // Weights come from the rating aggregates, which the event's products don't reliably
+        // carry (bulk UPDATE for ratings, detached stand-ins from CSV imports): re-read them
+        Map<Long, ProductSearchDocument> current = new HashMap<>();
+        if (event.getType() != ProductChangedEvent.Type.DELETED) {
+            productRepository.findSearchDocumentsByIdIn(ids).forEach(doc -> current.put(doc.getId(), doc));
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) changedDuringRebuild.addAll(ids);
+            for (Long id : ids) {
+                trie.removeProduct(id);
+                ProductSearchDocument doc = current.get(id);
+                if (doc != null) trie.addProduct(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===============================
+    // 🔹 Query
+    // ===============================
+
+    public List<ProductSuggestionDto> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Node node = trie.root;
+            for (int i = 0; i < normalized.length() && node != null; i++) {
+                node = node.children.get(normalized.charAt(i));
+            }
+            if (node == null) return List.of();
+            return node.top.stream()
+                    .limit(Math.min(limit, MAX_SUGGESTIONS))
+                    .map(Suggestion::toDto)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===============================
+    // 🔹 Internals (callers hold the write lock, or own a trie nobody else sees yet)
+    // ===============================
+
+    private static class Trie {
+
+        final Node root = new Node();
+
+        // suggestion key ("p:<id>", "c:<category>", "s:<category>/<sub>") -> suggestion
+        final Map<String, Suggestion> suggestions = new HashMap<>();
+
+        // what each product currently contributes, so updates can be backed out
+        final Map<Long, ProductEntry> products = new HashMap<>();
+
+        void addProduct(ProductSearchDocument doc) {
+            addProduct(doc.getId(), doc.getName(), doc.getCategory(), doc.getSubCategory(),
+                    weightOf(doc.getAverageRating(), doc.getRatingCount()));
+        }
+
+        void addProduct(Long id, String name, String category, String subCategory, double weight) {
+            products.put(id, new ProductEntry(category, subCategory, weight));
+
+            if (name != null && !name.isBlank()) {
+                Suggestion product = new Suggestion("p:" + id, name.trim(), "PRODUCT", id, category);
+                product.weight = weight;
+                suggestions.put(product.key, product);
+                insert(product);
+            }
+            if (category != null && !category.isBlank()) {
+                adjustGroup("c:" + normalize(category), category.trim(), "CATEGORY", null, weight, 1);
+                if (subCategory != null && !subCategory.isBlank()) {
+                    adjustGroup("s:" + normalize(category) + "/" + normalize(subCategory),
+                            subCategory.trim(), "SUB_CATEGORY", category.trim(), weight, 1);
+                }
+            }
+        }
+
+        void removeProduct(Long id) {
+            ProductEntry entry = products.remove(id);
+            if (entry == null) return;
+
+            Suggestion product = suggestions.remove("p:" + id);
+            if (product != null) remove(product);
+
+            if (entry.category != null && !entry.category.isBlank()) {
+                adjustGroup("c:" + normalize(entry.category), entry.category.trim(), "CATEGORY", null, -entry.weight, -1);
+                if (entry.subCategory != null && !entry.subCategory.isBlank()) {
+                    adjustGroup("s:" + normalize(entry.category) + "/" + normalize(entry.subCategory),
+                            entry.subCategory.trim(), "SUB_CATEGORY", entry.category.trim(), -entry.weight, -1);
+                }
+            }
+        }
+
+        // Categories/subcategories: re-slot with the new weight, drop when no product is left
+        private void adjustGroup(String key, String text, String type, String category, double weightDelta, int countDelta) {
+            Suggestion group = suggestions.get(key);
+            if (group != null) {
+                remove(group);
+            } else {
+                group = new Suggestion(key, text, type, null, category);
+                suggestions.put(key, group);
+            }
+            group.weight += weightDelta;
+            group.productCount += countDelta;
+
+            if (group.productCount <= 0) {
+                suggestions.remove(key);
+            } else {
+                insert(group);
+            }
+        }
+
+        private void insert(Suggestion suggestion) {
+            for (String key : keysOf(suggestion.text)) {
+                List<Node> path = new ArrayList<>(key.length() + 1);
+                Node node = root;
+                path.add(node);
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                    path.add(node);
+                }
+                node.terminals.add(suggestion);
+                recomputeTop(path);
+            }
+        }
+
+        private void remove(Suggestion suggestion) {
+            for (String key : keysOf(suggestion.text)) {
+                List<Node> path = new ArrayList<>(key.length() + 1);
+                Node node = root;
+                path.add(node);
+                for (int i = 0; i < key.length() && node != null; i++) {
+                    node = node.children.get(key.charAt(i));
+                    if (node != null) path.add(node);
+                }
+                if (node == null) continue;
+                node.terminals.remove(suggestion);
+
+                // Prune empty leaves bottom-up
+                for (int i = path.size() - 1; i > 0; i--) {
+                    Node current = path.get(i);
+                    if (!current.children.isEmpty() || !current.terminals.isEmpty()) break;
+                    path.get(i - 1).children.remove(key.charAt(i - 1));
+                    path.remove(i);
+                }
+                recomputeTop(path);
+            }
+        }
+
+    }
+
+    private static void recomputeTop(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            Map<String, Suggestion> candidates = new LinkedHashMap<>();
+            for (Suggestion s : node.terminals) candidates.put(s.key, s);
+            for (Node child : node.children.values()) {
+                for (Suggestion s : child.top) candidates.putIfAbsent(s.key, s);
+            }
+            node.top = candidates.values().stream()
+                    .sorted(BY_WEIGHT)
+                    .limit(MAX_SUGGESTIONS)
+                    .collect(Collectors.toUnmodifiableList());
+        }
+    }
+
+    // "Apple iPhone 15" is reachable from "apple...", "iphone..." and "15..."
+    private static Set<String> keysOf(String text) {
+        String normalized = normalize(text);
+        Set<String> keys = new HashSet<>();
+        if (normalized.isEmpty()) return keys;
+        keys.add(normalized);
+        for (int i = 1; i < normalized.length(); i++) {
+            if (normalized.charAt(i - 1) == ' ' && normalized.charAt(i) != ' ') {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static double weightOf(Double averageRating, Long ratingCount) {
+        double avg = averageRating == null ? 0.0 : averageRating;
+        long count = ratingCount == null ? 0L : ratingCount;
+        return 1.0 + avg * count;
+    }
+
+}
@@ -4,10 +4,13 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.neokart.Entity.Product;
 import com.neokart.Entity.ProductVarient;
+import com.neokart.Event.ProductChangedEvent;
 import com.neokart.Repository.ProductRepository;
 import com.neokart.Repository.ProductVarientsRepo;
 
@@ -21,33 +24,50 @@ public class ProductVarientService {
     @Autowired
     private ProductVarientsRepo variantRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Variant writes publish a SAVED event for the parent product so cached product pages are dropped
+
+    @Transactional
     public ProductVarient addVariant(Long productId, ProductVarient variant) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("❌ Product not found with ID: " + productId));
 
         variant.setProduct(product);
-        return variantRepository.save(variant);
+        ProductVarient saved = variantRepository.save(variant);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(product));
+        return saved;
     }
 
     public List<ProductVarient> getVariants(Long productId) {
         return variantRepository.findByProductId(productId);
     }
 
+    @Transactional
     public String deleteVariant(Long variantId) {
-        if (!variantRepository.existsById(variantId)) {
-            throw new RuntimeException("❌ Variant not found with ID: " + variantId);
+        ProductVarient variant = variantRepository.findById(variantId)
+                .orElseThrow(() -> new RuntimeException("❌ Variant not found with ID: " + variantId));
+
+        variantRepository.delete(variant);
+        if (variant.getProduct() != null) {
+            eventPublisher.publishEvent(ProductChangedEvent.saved(variant.getProduct()));
         }
-        variantRepository.deleteById(variantId);
         return "✅ Variant deleted successfully";
     }
 
+    @Transactional
     public ProductVarient updateVariant(Long variantId, BigDecimal price, int stock) {
         ProductVarient variant = variantRepository.findById(variantId)
                 .orElseThrow(() -> new RuntimeException("❌ Variant not found"));
 
         variant.setPrice(price);
         variant.setStock(stock);
-        return variantRepository.save(variant);
+        ProductVarient saved = variantRepository.save(variant);
+        if (saved.getProduct() != null) {
+            eventPublisher.publishEvent(ProductChangedEvent.saved(saved.getProduct()));
+        }
+        return saved;
     }
 
     public List<ProductVarient> getLowStockVariants(int threshold) {
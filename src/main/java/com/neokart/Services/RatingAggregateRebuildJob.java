@@ -0,0 +1,27 @@
+package com.neokart.Services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-shot backfill of Product.ratingCount / ratingSum / averageRating from the
+ * ratings table. Enable with neokart.ratings.rebuild-on-startup=true for one
+ * deployment after the columns are added, then switch it off again.
+ */
+@Component
+@ConditionalOnProperty(name = "neokart.ratings.rebuild-on-startup", havingValue = "true")
+public class RatingAggregateRebuildJob implements ApplicationRunner {
+
+    @Autowired
+    private ProductService productService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int updated = productService.rebuildRatingAggregates();
+        System.out.println("✅ Rebuilt rating aggregates for " + updated + " products");
+    }
+
+}
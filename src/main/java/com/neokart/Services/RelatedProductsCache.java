@@ -0,0 +1,114 @@
+package com.neokart.Services;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neokart.DTO.ProductSummaryDto;
+import com.neokart.Entity.Product;
+import com.neokart.Event.ProductChangedEvent;
+import com.neokart.Repository.ProductRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Top-N related products per product, loaded lazily and held for a TTL.
+ *
+ * Invalidation is by generation rather than by scanning: every key carries the
+ * catalog generation and its category's generation at the time of the lookup.
+ * A rating bumps the product's category; a save or delete bumps the whole
+ * catalog, since the product may have left a category the event doesn't name.
+ * Old entries are simply never asked for again and age out, and a load that
+ * was in flight during the change lands under its old, unreachable key.
+ * Stock moves are ignored: they would invalidate on every checkout, so the
+ * stock shown in these lists may lag by up to the TTL. So are new renditions;
+ * until then the list shows the original image.
+ */
+@Component
+public class RelatedProductsCache {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${neokart.related.top-n:8}")
+    private int topN;
+
+    @Value("${neokart.related.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${neokart.related.max-entries:10000}")
+    private long maxEntries;
+
+    private Cache<Key, List<ProductSummaryDto>> cache;
+
+    private final AtomicLong catalogGeneration = new AtomicLong();
+    private final Map<String, AtomicLong> categoryGenerations = new ConcurrentHashMap<>();
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class Key {
+        private final String category; // lower-cased
+        private final Long productId;
+        private final long catalogGeneration;
+        private final long categoryGeneration;
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "relatedProducts");
+    }
+
+    public List<ProductSummaryDto> get(String category, Long productId) {
+        String normalized = category.toLowerCase(Locale.ROOT);
+        // Generations are read before loading, so a change during the load makes this key stale
+        Key key = new Key(normalized, productId, catalogGeneration.get(), generationOf(normalized).get());
+        return cache.get(key,
+                k -> List.copyOf(productRepository.findRelatedSummaries(category, productId, PageRequest.of(0, topN))));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.getType()) {
+            case STOCK, IMAGES -> { }
+            case RATED -> event.getProducts().stream()
+                    .map(Product::getCategory)
+                    .filter(Objects::nonNull)
+                    .map(c -> c.toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet())
+                    .forEach(c -> generationOf(c).incrementAndGet());
+            default -> catalogGeneration.incrementAndGet();
+        }
+    }
+
+    private AtomicLong generationOf(String category) {
+        return categoryGenerations.computeIfAbsent(category, c -> new AtomicLong());
+    }
+
+}
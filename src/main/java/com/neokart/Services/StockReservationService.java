@@ -0,0 +1,122 @@
+package com.neokart.Services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.neokart.Entity.Product;
+import com.neokart.Event.ProductChangedEvent;
+
+/**
+ * Takes stock for an order with one conditional UPDATE covering every product
+ * in it:
+ *
+ *   UPDATE products SET stock = stock - CASE id WHEN ? THEN ? ... END
+ *   WHERE id IN (...) AND stock >= CASE id WHEN ? THEN ? ... END
+ *
+ * The check and the decrement happen in the same statement under the row lock,
+ * so two checkouts can never both take the last unit. If fewer rows match than
+ * products were asked for, nothing is kept: the exception rolls back the
+ * caller's transaction.
+ *
+ * Must run inside the order's transaction, and should be its first write: the
+ * rows are locked in primary key order (no deadlocks between orders sharing
+ * products), and order_item foreign key checks on rows we already hold can't
+ * turn into shared-to-exclusive lock upgrades.
+ */
+@Service
+public class StockReservationService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Only present with neokart.flash-sale.inventory.enabled=true
+    @Autowired(required = false)
+    private FlashSaleInventory flashSaleInventory;
+
+    /** quantities: product id -> units. Throws if any product is short; nothing is reserved then. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) return;
+        // Products in a running flash sale come from in-memory counters instead
+        Map<Long, Integer> sorted = new TreeMap<>(
+                flashSaleInventory == null ? quantities : flashSaleInventory.reserve(quantities));
+        if (sorted.isEmpty()) return;
+
+        int matched = jdbcTemplate.update(adjustSql(sorted.size(), "-", true), adjustArgs(sorted, true));
+        if (matched != sorted.size()) {
+            throw new RuntimeException("❌ Not enough stock for product(s) " + shortProducts(sorted));
+        }
+        publish(sorted);
+    }
+
+    /** Puts units back, e.g. when an order is cancelled. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) return;
+        Map<Long, Integer> sorted = new TreeMap<>(
+                flashSaleInventory == null ? quantities : flashSaleInventory.release(quantities));
+        if (sorted.isEmpty()) return;
+
+        jdbcTemplate.update(adjustSql(sorted.size(), "+", false), adjustArgs(sorted, false));
+        publish(sorted);
+    }
+
+    // ===============================
+    // 🔹 Internals
+    // ===============================
+
+    private static String adjustSql(int count, String operator, boolean checkAvailable) {
+        String caseExpr = "CASE id" + " WHEN ? THEN ?".repeat(count) + " END";
+        String idList = String.join(", ", Collections.nCopies(count, "?"));
+        return "UPDATE products SET stock = stock " + operator + " " + caseExpr
+                + " WHERE id IN (" + idList + ")"
+                + (checkAvailable ? " AND stock >= " + caseExpr : "");
+    }
+
+    private static Object[] adjustArgs(Map<Long, Integer> quantities, boolean checkAvailable) {
+        List<Object> args = new ArrayList<>();
+        quantities.forEach((id, qty) -> { args.add(id); args.add(qty); });
+        args.addAll(quantities.keySet());
+        if (checkAvailable) {
+            quantities.forEach((id, qty) -> { args.add(id); args.add(qty); });
+        }
+        return args.toArray();
+    }
+
+    // Only on the failure path, to name the products in the error
+    private String shortProducts(Map<Long, Integer> quantities) {
+        String idList = String.join(", ", Collections.nCopies(quantities.size(), "?"));
+        Map<Long, Integer> stock = new TreeMap<>();
+        jdbcTemplate.query("SELECT id, stock FROM products WHERE id IN (" + idList + ")",
+                rs -> { stock.put(rs.getLong(1), (Integer) rs.getObject(2)); },
+                quantities.keySet().toArray());
+
+        return quantities.entrySet().stream()
+                .filter(e -> stock.get(e.getKey()) == null || stock.get(e.getKey()) < e.getValue())
+                .map(e -> e.getKey() + " (requested " + e.getValue() + ", available "
+                        + (stock.get(e.getKey()) == null ? 0 : stock.get(e.getKey())) + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    // Cached product pages and list views show stock
+    private void publish(Map<Long, Integer> quantities) {
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(quantities.keySet().stream()
+                .map(id -> Product.builder().id(id).build())
+                .collect(Collectors.toList())));
+    }
+
+}
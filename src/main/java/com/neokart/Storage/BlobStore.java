@@ -0,0 +1,47 @@
+package com.neokart.Storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Where uploaded image files live. Keys are relative paths such as
+ * "ab/ab12...ef.jpg"; the URL stored on ProductImage is always "/uploads/" + key,
+ * whichever implementation is active, so switching backends needs no data
+ * migration beyond copying the files.
+ */
+public interface BlobStore {
+
+    String URL_PREFIX = "/uploads/";
+
+    /** Stores the file under key, replacing any existing object. The file may be moved or left for the caller to delete. */
+    void put(String key, Path file) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    /** Removes the object; a missing key is not an error. */
+    void delete(String key) throws IOException;
+
+    /** A short-lived URL the client can fetch directly, or empty when files are served by the app itself. */
+    Optional<URI> presignedGet(String key, Duration ttl);
+
+    /** Scratch file for staging an upload before put(). */
+    default Path createTempFile() throws IOException {
+        return Files.createTempFile("blob", ".tmp");
+    }
+
+    static String keyOf(String url) {
+        return url != null && url.startsWith(URL_PREFIX) ? url.substring(URL_PREFIX.length()) : null;
+    }
+
+    static String urlOf(String key) {
+        return URL_PREFIX + key;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.neokart.Storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Files under file.upload-dir, served by the /uploads resource handler in
+ * WebConfig. Only suitable for a single app instance (or a shared mount).
+ */
+public class LocalBlobStore implements BlobStore {
+
+    // Old staging area, inside the served root
+    private static final String LEGACY_INCOMING_DIR = ".incoming";
+
+    private final Path root;
+
+    // Staging area next to the root (not under it, where /uploads would serve half-written
+    // uploads), normally on the same file system so put() is still a rename
+    private final Path incoming;
+
+    public LocalBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        Path parent = this.root.getParent();
+        this.incoming = parent != null
+                ? parent.resolve(this.root.getFileName() + ".incoming")
+                : Paths.get(System.getProperty("java.io.tmpdir"), "neokart-uploads.incoming");
+        removeLegacyIncoming();
+    }
+
+    @Override
+    public void put(String key, Path file) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Optional<URI> presignedGet(String key, Duration ttl) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Path createTempFile() throws IOException {
+        Files.createDirectories(incoming);
+        return Files.createTempFile(incoming, "upload", ".tmp");
+    }
+
+    // Leftovers there would stay publicly reachable; they are scratch files, nothing refers to them
+    private void removeLegacyIncoming() {
+        Path legacy = root.resolve(LEGACY_INCOMING_DIR);
+        if (!Files.isDirectory(legacy)) return;
+        try (Stream<Path> files = Files.list(legacy)) {
+            for (Path file : (Iterable<Path>) files::iterator) Files.deleteIfExists(file);
+            Files.deleteIfExists(legacy);
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not remove old upload staging directory " + legacy + ": " + e.getMessage());
+        }
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return path;
+    }
+
+}
@@ -0,0 +1,232 @@
+package com.neokart.Storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+/**
+ * S3-compatible object storage (AWS S3, MinIO, Ceph RGW ...) over plain HTTP
+ * with Signature Version 4, so no SDK is needed. Objects are addressed
+ * path-style (endpoint/bucket/key), which every S3 implementation accepts.
+ *
+ * Clients are sent to presigned GET URLs, so image bytes are never proxied
+ * through the app; the app only reads objects when rendering renditions.
+ */
+public class S3BlobStore implements BlobStore {
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final DateTimeFormatter AMZ_DATE =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final Duration MAX_PRESIGN_TTL = Duration.ofDays(7);
+
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final String bucket;
+    private final String region;
+    private final String accessKey;
+    private final String secretKey;
+
+    public S3BlobStore(URI endpoint, String bucket, String region, String accessKey, String secretKey) {
+        this.endpoint = endpoint;
+        this.bucket = bucket;
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Override
+    public void put(String key, Path file) throws IOException {
+        MediaType type = MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        HttpRequest request = signed("PUT", objectUri(key))
+                .header("Content-Type", type.toString())
+                .PUT(HttpRequest.BodyPublishers.ofFile(file)) // streamed from disk
+                .build();
+        HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+        if (!isSuccess(response.statusCode())) {
+            throw new IOException("S3 PUT " + key + " failed: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        HttpRequest request = signed("GET", objectUri(key)).GET().build();
+        HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (isSuccess(response.statusCode())) return response.body();
+
+        response.body().close();
+        if (response.statusCode() == 404) throw new NoSuchFileException(key);
+        throw new IOException("S3 GET " + key + " failed: " + response.statusCode());
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        HttpRequest request = signed("HEAD", objectUri(key))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        int status = send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 404) return false;
+        if (isSuccess(status)) return true;
+        throw new IOException("S3 HEAD " + key + " failed: " + status);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpRequest request = signed("DELETE", objectUri(key)).DELETE().build();
+        HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+        if (!isSuccess(response.statusCode()) && response.statusCode() != 404) {
+            throw new IOException("S3 DELETE " + key + " failed: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    @Override
+    public Optional<URI> presignedGet(String key, Duration ttl) {
+        return Optional.of(presign("GET", objectUri(key), Instant.now(), ttl));
+    }
+
+    // ===============================
+    // 🔹 Signature V4
+    // ===============================
+
+    // Query-string authentication; only the host header is signed, so any client can use the URL
+    URI presign(String method, URI uri, Instant now, Duration ttl) {
+        long expires = Math.min(ttl.getSeconds(), MAX_PRESIGN_TTL.getSeconds());
+        String amzDate = AMZ_DATE.format(now);
+        String scope = amzDate.substring(0, 8) + "/" + region + "/s3/aws4_request";
+
+        // Parameters already in sorted order, as the canonical query string requires
+        String query = "X-Amz-Algorithm=" + ALGORITHM
+                + "&X-Amz-Credential=" + encode(accessKey + "/" + scope, true)
+                + "&X-Amz-Date=" + amzDate
+                + "&X-Amz-Expires=" + expires
+                + "&X-Amz-SignedHeaders=host";
+        String canonicalRequest = method + "\n"
+                + uri.getRawPath() + "\n"
+                + query + "\n"
+                + "host:" + hostHeader(uri) + "\n\n"
+                + "host\n"
+                + UNSIGNED_PAYLOAD;
+
+        String signature = signature(amzDate, scope, canonicalRequest);
+        return URI.create(uri.getScheme() + "://" + uri.getRawAuthority() + uri.getRawPath()
+                + "?" + query + "&X-Amz-Signature=" + signature);
+    }
+
+    // Header authentication for the app's own calls; the body is sent unsigned so large
+    // files can be streamed without hashing them first
+    HttpRequest.Builder signed(String method, URI uri) {
+        String amzDate = AMZ_DATE.format(Instant.now());
+        String scope = amzDate.substring(0, 8) + "/" + region + "/s3/aws4_request";
+        String signedHeaders = "host;x-amz-content-sha256;x-amz-date";
+        String canonicalRequest = method + "\n"
+                + uri.getRawPath() + "\n"
+                + "\n"
+                + "host:" + hostHeader(uri) + "\n"
+                + "x-amz-content-sha256:" + UNSIGNED_PAYLOAD + "\n"
+                + "x-amz-date:" + amzDate + "\n\n"
+                + signedHeaders + "\n"
+                + UNSIGNED_PAYLOAD;
+
+        return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(60))
+                .header("x-amz-date", amzDate)
+                .header("x-amz-content-sha256", UNSIGNED_PAYLOAD)
+                .header("Authorization", ALGORITHM + " Credential=" + accessKey + "/" + scope
+                        + ", SignedHeaders=" + signedHeaders
+                        + ", Signature=" + signature(amzDate, scope, canonicalRequest));
+    }
+
+    private String signature(String amzDate, String scope, String canonicalRequest) {
+        try {
+            String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n"
+                    + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                            .digest(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+
+            byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), amzDate.substring(0, 8));
+            key = hmac(key, region);
+            key = hmac(key, "s3");
+            key = hmac(key, "aws4_request");
+            return HexFormat.of().formatHex(hmac(key, stringToSign));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ===============================
+    // 🔹 Helpers
+    // ===============================
+
+    private URI objectUri(String key) {
+        return URI.create(endpoint.getScheme() + "://" + endpoint.getRawAuthority()
+                + "/" + encode(bucket, true) + "/" + encode(key, false));
+    }
+
+    // Must match the Host header HttpClient sends: the port only when it isn't the scheme default
+    private static String hostHeader(URI uri) {
+        int port = uri.getPort();
+        boolean defaultPort = port == -1
+                || (port == 80 && "http".equals(uri.getScheme()))
+                || (port == 443 && "https".equals(uri.getScheme()));
+        return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    }
+
+    // RFC 3986 encoding as SigV4 defines it: unreserved characters kept, everything else %XX
+    static String encode(String value, boolean encodeSlash) {
+        StringBuilder out = new StringBuilder(value.length() + 16);
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (c == '/' && !encodeSlash)) {
+                out.append(c);
+            } else {
+                out.append('%').append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xf, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(b & 0xf, 16)));
+            }
+        }
+        return out.toString();
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted calling " + request.uri());
+        }
+    }
+
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.neokart.Util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Opaque keyset cursor for the catalog: the sort it belongs to, the sort key of
+ * the last row served and that row's id. Clients only pass it back as "after".
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogCursor {
+
+    private final String sortBy;
+    private final String sortKey;
+    private final Long id;
+
+    public String encode() {
+        String raw = sortBy + "|" + sortKey + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CatalogCursor decode(String token, String expectedSortBy) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(expectedSortBy)) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            return new CatalogCursor(parts[0], parts[1], Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // also covers bad Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor: " + e.getMessage());
+        }
+    }
+
+}
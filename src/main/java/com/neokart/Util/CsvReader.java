@@ -0,0 +1,116 @@
+package com.neokart.Util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, fields optionally wrapped in double
+ * quotes, "" inside a quoted field is a literal quote, and quoted fields may
+ * contain commas and line breaks. Accepts LF, CRLF and lone CR record endings.
+ *
+ * Reads through a fixed char buffer and reuses one StringBuilder, so the only
+ * per-record allocations are the field strings themselves.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private final StringBuilder field = new StringBuilder(128);
+    private long recordCount;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** Next record, or null at end of input. */
+    public String[] next() throws IOException {
+        List<String> fields = new ArrayList<>(16);
+        return next(fields) ? fields.toArray(new String[0]) : null;
+    }
+
+    /** Reads the next record into fields (cleared first); false at end of input. */
+    public boolean next(List<String> fields) throws IOException {
+        fields.clear();
+        int c = read();
+        if (c == -1) return false;
+
+        field.setLength(0);
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in record " + (recordCount + 1));
+                }
+                if (c == '"') {
+                    int n = peek();
+                    if (n == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                if (peek() == '\n') read();
+                break;
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append((char) c); // stray quotes mid-field are kept as-is
+            }
+            c = read();
+        }
+
+        fields.add(field.toString());
+        recordCount++;
+        return true;
+    }
+
+    /** Records returned so far. */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = reader.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        if (n < 0) return false;
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.neokart.Util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only log of one-line text records with group commit: append() returns
+ * a future that completes once the record has been forced to disk, and every
+ * record queued at that moment shares the same fsync, so many concurrent
+ * writers cost one disk flush rather than one each.
+ *
+ * A record torn by a crash (no trailing newline) is dropped when the log is
+ * reopened.
+ */
+public class WriteAheadLog implements Closeable {
+
+    private final Path file;
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Object io = new Object();
+    private final Thread writer;
+
+    private FileChannel channel;
+    private long recordCount;
+    private volatile boolean closed;
+
+    private record Pending(String record, CompletableFuture<Void> done) {}
+
+    public WriteAheadLog(Path file) throws IOException {
+        this.file = file.toAbsolutePath();
+        Files.createDirectories(this.file.getParent());
+        this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        // Cut off a torn last record so new appends start on a fresh line
+        byte[] content = Files.readAllBytes(this.file);
+        int end = completeLength(content);
+        if (end < content.length) channel.truncate(end);
+        channel.position(channel.size());
+        this.recordCount = parse(content, end).size();
+
+        this.writer = new Thread(this::writeLoop, "wal-" + this.file.getFileName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Every complete record currently in the log, oldest first. */
+    public List<String> readAll() throws IOException {
+        synchronized (io) {
+            byte[] content = Files.readAllBytes(file);
+            return parse(content, completeLength(content));
+        }
+    }
+
+    public CompletableFuture<Void> append(String record) {
+        if (record.indexOf('\n') >= 0 || record.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Records must be a single line");
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (closed) {
+            done.completeExceptionally(new IOException("Write-ahead log is closed: " + file));
+        } else {
+            queue.add(new Pending(record, done));
+        }
+        return done;
+    }
+
+    /** Appends and blocks until all records are durable. */
+    public void appendAndWait(List<String> records) throws IOException {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(records.size());
+        for (String record : records) futures.add(append(record));
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /** Atomically replaces the whole log with the given records (checkpoint). */
+    public void rewrite(List<String> records) throws IOException {
+        synchronized (io) {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            StringBuilder content = new StringBuilder();
+            for (String record : records) content.append(record).append('\n');
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                write(out, content);
+                out.force(true);
+            }
+            channel.close();
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory();
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            recordCount = records.size();
+        }
+    }
+
+    public long getRecordCount() {
+        synchronized (io) {
+            return recordCount;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (io) {
+            channel.close();
+        }
+    }
+
+    // ===============================
+    // 🔹 Writer thread
+    // ===============================
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch);
+
+                IOException failure = null;
+                synchronized (io) {
+                    try {
+                        StringBuilder content = new StringBuilder();
+                        for (Pending pending : batch) content.append(pending.record()).append('\n');
+                        write(channel, content);
+                        channel.force(false);
+                        recordCount += batch.size();
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                for (Pending pending : batch) {
+                    if (failure == null) pending.done().complete(null);
+                    else pending.done().completeExceptionally(failure);
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private static int completeLength(byte[] content) {
+        int end = content.length;
+        while (end > 0 && content[end - 1] != '\n') end--;
+        return end;
+    }
+
+    private static List<String> parse(byte[] content, int length) {
+        List<String> records = new ArrayList<>();
+        new String(content, 0, length, StandardCharsets.UTF_8).lines()
+                .filter(line -> !line.isEmpty())
+                .forEach(records::add);
+        return records;
+    }
+
+    private static void write(FileChannel out, CharSequence content) throws IOException {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(content.toString());
+        while (buffer.hasRemaining()) out.write(buffer);
+    }
+
+    // Makes the rename itself durable (no-op where directories can't be opened)
+    private void forceDirectory() {
+        try (FileChannel dir = FileChannel.open(file.getParent(), StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // best effort
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+-- =====================================================================
+-- NeoKart schema upgrade (MySQL 8)
+--
+-- Brings a database created before the rating aggregates, image renditions,
+-- content-addressed uploads, CSV import jobs and the email outbox up to the
+-- current entities. Only needed when Hibernate does not manage the schema
+-- (JPA_DDL_AUTO=none); with the default "update" Hibernate adds all of this
+-- itself, except the rating backfill (start once with
+-- RATINGS_REBUILD_ON_STARTUP=true, or run step 2 below).
+--
+-- Run it once, e.g.  mysql -u <user> -p <database> < schema-upgrade.sql
+-- The ALTER TABLE / CREATE INDEX statements fail if they have already run.
+-- =====================================================================
+
+-- ===============================
+-- 🔹 1. Rating aggregates on products
+-- ===============================
+ALTER TABLE products
+    ADD COLUMN rating_count BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN average_rating DOUBLE NOT NULL DEFAULT 0;
+
+-- ===============================
+-- 🔹 2. Backfill from existing ratings (same figures as ProductRepository.rebuildRatingAggregates)
+-- ===============================
+UPDATE products p
+    LEFT JOIN (
+        SELECT product_id, COUNT(*) AS cnt, SUM(stars) AS total, AVG(stars) AS average
+        FROM productratings
+        GROUP BY product_id
+    ) r ON r.product_id = p.id
+SET p.rating_count = COALESCE(r.cnt, 0),
+    p.rating_sum = COALESCE(r.total, 0),
+    p.average_rating = COALESCE(r.average, 0);
+
+-- ===============================
+-- 🔹 3. Catalog sort indexes (id breaks ties so deep pages stay stable)
+-- ===============================
+CREATE INDEX idx_products_price ON products (price, id);
+CREATE INDEX idx_products_category_price ON products (category, price, id);
+CREATE INDEX idx_products_rating ON products (average_rating, id);
+CREATE INDEX idx_products_category_rating ON products (category, average_rating, id);
+
+-- ===============================
+-- 🔹 4. Image renditions and content hash
+-- ===============================
+ALTER TABLE product_images
+    ADD COLUMN content_hash VARCHAR(64),
+    ADD COLUMN thumbnail_url VARCHAR(255),
+    ADD COLUMN medium_url VARCHAR(255),
+    ADD COLUMN large_url VARCHAR(255);
+
+-- ===============================
+-- 🔹 5. New tables
+-- ===============================
+CREATE TABLE IF NOT EXISTS image_blobs (
+    hash VARCHAR(64) NOT NULL,
+    extension VARCHAR(10) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    ref_count BIGINT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (hash)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS product_import_jobs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    file_name VARCHAR(255),
+    stored_path VARCHAR(255),
+    requested_by VARCHAR(255),
+    status VARCHAR(20) NOT NULL,
+    mode VARCHAR(20) NOT NULL,
+    rows_read BIGINT NOT NULL,
+    rows_imported BIGINT NOT NULL,
+    rows_updated BIGINT NOT NULL,
+    rows_unchanged BIGINT NOT NULL,
+    rows_rejected BIGINT NOT NULL,
+    error_message VARCHAR(1000),
+    created_at DATETIME(6),
+    started_at DATETIME(6),
+    finished_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS product_import_rejections (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    job_id BIGINT,
+    csv_row BIGINT NOT NULL,
+    reason VARCHAR(255),
+    PRIMARY KEY (id),
+    INDEX idx_import_rejections_job (job_id, csv_row)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS outbox_messages (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    type VARCHAR(40) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(1000),
+    created_at DATETIME(6),
+    sent_at DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_outbox_status_next_attempt (status, next_attempt_at)
+) ENGINE = InnoDB;
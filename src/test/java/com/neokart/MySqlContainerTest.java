@@ -0,0 +1,34 @@
+package com.neokart;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base for tests that need real MySQL locking and batching behaviour: JPA slice
+ * plus a throwaway MySQL 8 container, schema created from the entities.
+ *
+ * Tests run outside a test-managed transaction, so concurrent threads see each
+ * other's commits; each test creates the rows it needs. Skipped when Docker
+ * isn't available.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // "shipping-address" needs quoting in DDL
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class MySqlContainerTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+}
@@ -0,0 +1,157 @@
+package com.neokart;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * db/schema-upgrade.sql applied to a database in the pre-upgrade shape must
+ * end up with the tables, columns and indexes Hibernate generates from the
+ * entities (the default database of the shared container), and must backfill
+ * the rating aggregates.
+ */
+class SchemaUpgradeScriptTest extends MySqlContainerTest {
+
+    private static final String LEGACY = "neokart_legacy";
+
+    // Tables the upgrade touches or creates
+    private static final List<String> TABLES = List.of("products", "product_images", "image_blobs",
+            "product_import_jobs", "product_import_rejections", "outbox_messages");
+
+    private static JdbcTemplate legacy;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void upgradeLegacySchema() throws SQLException {
+        JdbcTemplate root = new JdbcTemplate(dataSource(""));
+        root.execute("DROP DATABASE IF EXISTS " + LEGACY);
+        root.execute("CREATE DATABASE " + LEGACY);
+        legacy = new JdbcTemplate(dataSource(LEGACY));
+
+        // The tables as they were before the upgrade
+        legacy.execute("""
+                CREATE TABLE products (
+                    id BIGINT NOT NULL AUTO_INCREMENT,
+                    name VARCHAR(255),
+                    description VARCHAR(2000),
+                    price DECIMAL(12,2) NOT NULL,
+                    stock INT,
+                    sku VARCHAR(255),
+                    category VARCHAR(255),
+                    sub_category VARCHAR(255),
+                    PRIMARY KEY (id)
+                )
+                """);
+        legacy.execute("""
+                CREATE TABLE product_images (
+                    id BIGINT NOT NULL AUTO_INCREMENT,
+                    image_url VARCHAR(255),
+                    is_primary BIT NOT NULL,
+                    product_id BIGINT,
+                    PRIMARY KEY (id)
+                )
+                """);
+        legacy.execute("""
+                CREATE TABLE productratings (
+                    id BIGINT NOT NULL AUTO_INCREMENT,
+                    stars INT NOT NULL,
+                    comment VARCHAR(500),
+                    product_id BIGINT,
+                    user_id BIGINT,
+                    PRIMARY KEY (id)
+                )
+                """);
+
+        legacy.update("INSERT INTO products (id, name, price) VALUES (1, 'Rated', 10), (2, 'Unrated', 20)");
+        legacy.update("INSERT INTO productratings (stars, product_id) VALUES (5, 1), (4, 1), (2, 1)");
+
+        try (Connection connection = legacy.getDataSource().getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/schema-upgrade.sql"));
+        }
+    }
+
+    @Test
+    void upgradedColumnsMatchTheEntities() {
+        for (String table : TABLES) {
+            assertThat(columns(legacy, LEGACY, table)).as(table)
+                    .isEqualTo(columns(jdbcTemplate, MYSQL.getDatabaseName(), table));
+        }
+    }
+
+    @Test
+    void upgradedIndexesMatchTheEntities() {
+        for (String table : TABLES) {
+            assertThat(indexes(legacy, LEGACY, table)).as(table)
+                    .isEqualTo(indexes(jdbcTemplate, MYSQL.getDatabaseName(), table));
+        }
+    }
+
+    @Test
+    void ratingAggregatesAreBackfilled() {
+        Map<String, Object> rated = legacy.queryForMap(
+                "SELECT rating_count, rating_sum, average_rating FROM products WHERE id = 1");
+        assertThat(rated.get("rating_count")).isEqualTo(3L);
+        assertThat(rated.get("rating_sum")).isEqualTo(11L);
+        assertThat((Double) rated.get("average_rating")).isCloseTo(11 / 3.0, within(1e-4));
+
+        Map<String, Object> unrated = legacy.queryForMap(
+                "SELECT rating_count, rating_sum, average_rating FROM products WHERE id = 2");
+        assertThat(unrated.get("rating_count")).isEqualTo(0L);
+        assertThat(unrated.get("rating_sum")).isEqualTo(0L);
+        assertThat(unrated.get("average_rating")).isEqualTo(0.0);
+    }
+
+    // ===============================
+    // 🔹 Helpers
+    // ===============================
+
+    // Root can create the second database; the container sets its password to the test user's
+    private static DriverManagerDataSource dataSource(String database) {
+        return new DriverManagerDataSource("jdbc:mysql://" + MYSQL.getHost() + ":" + MYSQL.getMappedPort(3306)
+                + "/" + database, "root", MYSQL.getPassword());
+    }
+
+    // column -> "type nullability"; Hibernate declares @Enumerated(STRING) columns as ENUM, the script as VARCHAR
+    private static Map<String, String> columns(JdbcTemplate jdbc, String schema, String table) {
+        Map<String, String> columns = new TreeMap<>();
+        jdbc.query("""
+                SELECT column_name, data_type, is_nullable FROM information_schema.columns
+                WHERE table_schema = ? AND table_name = ?
+                """, rs -> {
+                    String type = rs.getString("data_type").equals("enum") ? "varchar" : rs.getString("data_type");
+                    columns.put(rs.getString("column_name"), type + " " + rs.getString("is_nullable"));
+                }, schema, table);
+        assertThat(columns).as(schema + "." + table).isNotEmpty();
+        return columns;
+    }
+
+    // Named indexes -> column list; foreign-key indexes only exist on the Hibernate side
+    private static Map<String, String> indexes(JdbcTemplate jdbc, String schema, String table) {
+        Map<String, String> indexes = new TreeMap<>();
+        jdbc.query("""
+                SELECT index_name, GROUP_CONCAT(column_name ORDER BY seq_in_index) AS columns_in_index
+                FROM information_schema.statistics
+                WHERE table_schema = ? AND table_name = ? AND (index_name = 'PRIMARY' OR index_name LIKE 'idx\\_%')
+                GROUP BY index_name
+                """, rs -> {
+                    indexes.put(rs.getString("index_name"), rs.getString("columns_in_index"));
+                }, schema, table);
+        return indexes;
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.neokart.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.neokart.MySqlContainerTest;
+import com.neokart.DTO.ProductWithRatingDTO;
+
+/**
+ * Sorted catalog pages over 100k products with many equal prices and
+ * ratings. Every page, shallow or deep, must be exactly the slice MySQL
+ * returns for ORDER BY key, id, and the plan for it must walk the
+ * (category,) key, id index instead of sorting the table. Timings are
+ * printed for comparison, not asserted.
+ */
+@Import(ProductService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CatalogSortBenchmarkTest extends MySqlContainerTest {
+
+    private static final int PRODUCTS = 100_000;
+    private static final int CATEGORIES = 10;
+    private static final int SEED_BATCH_SIZE = 5_000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Not involved in catalog paging
+    @MockitoBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockitoBean
+    private ProductSuggestIndex productSuggestIndex;
+
+    @MockitoBean
+    private CategoryTreeCache categoryTreeCache;
+
+    @MockitoBean
+    private RelatedProductsCache relatedProductsCache;
+
+    @MockitoBean
+    private ProductDetailCache productDetailCache;
+
+    @MockitoBean
+    private ProductImageStorage productImageStorage;
+
+    @BeforeAll
+    void seed() {
+        long started = System.nanoTime();
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < PRODUCTS; i++) {
+            // 500 distinct prices and 11 distinct ratings: plenty of ties for the id tie-break
+            long count = i % 4;
+            double average = count == 0 ? 0.0 : (i % 11) * 0.5;
+            rows.add(new Object[] { "Bench product " + i, BigDecimal.valueOf(100 + (i * 7919L) % 500, 2).add(BigDecimal.ONE),
+                    10, "Bench-" + (i % CATEGORIES), count, Math.round(average * count), average });
+            if (rows.size() == SEED_BATCH_SIZE) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) insert(rows);
+        jdbcTemplate.execute("ANALYZE TABLE products");
+        System.out.println("📦 Seeded " + PRODUCTS + " products in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "price_asc,   price,          ASC",
+            "price_desc,  price,          DESC",
+            "rating_asc,  average_rating, ASC",
+            "rating_desc, average_rating, DESC",
+    })
+    void pagesAreSlicesOfTheGloballySortedCatalog(String sortBy, String column, String direction) {
+        for (String category : new String[] { null, "Bench-3" }) {
+            for (int page : new int[] { 0, 1, 400, 833 }) {
+                long started = System.nanoTime();
+                Page<ProductWithRatingDTO> result = productService.getFilteredAndSortedProducts(category, sortBy, page, 12);
+                long micros = (System.nanoTime() - started) / 1_000;
+
+                List<Long> expected = expectedIds(category, column, direction, page * 12, 12);
+                List<Long> actual = result.getContent().stream()
+                        .map(dto -> dto.getProduct().getId())
+                        .collect(Collectors.toList());
+                assertThat(actual).as("%s page %d (category %s)", sortBy, page, category).isEqualTo(expected);
+                assertSortedWithIdTieBreak(result.getContent(), column, direction);
+
+                System.out.println("⏱️ " + sortBy + " category=" + category + " page=" + page + ": " + micros + " µs");
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "price,          ASC,  idx_products_price,  idx_products_category_price",
+            "price,          DESC, idx_products_price,  idx_products_category_price",
+            "average_rating, ASC,  idx_products_rating, idx_products_category_rating",
+            "average_rating, DESC, idx_products_rating, idx_products_category_rating",
+    })
+    void sortIsServedFromTheIndex(String column, String direction, String index, String categoryIndex) {
+        Map<String, Object> plan = jdbcTemplate.queryForMap("EXPLAIN SELECT * FROM products ORDER BY "
+                + column + " " + direction + ", id " + direction + " LIMIT 12");
+        assertThat(plan.get("key")).isEqualTo(index);
+        assertThat(String.valueOf(plan.get("Extra"))).doesNotContain("filesort");
+
+        Map<String, Object> categoryPlan = jdbcTemplate.queryForMap("EXPLAIN SELECT * FROM products WHERE category = ? ORDER BY "
+                + column + " " + direction + ", id " + direction + " LIMIT 12", "Bench-3");
+        assertThat(categoryPlan.get("key")).isEqualTo(categoryIndex);
+        assertThat(String.valueOf(categoryPlan.get("Extra"))).doesNotContain("filesort");
+    }
+
+    // ===============================
+    // 🔹 Helpers
+    // ===============================
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO products (name, price, stock, category, rating_count, rating_sum, average_rating)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+    }
+
+    // The reference slice, straight from MySQL
+    private List<Long> expectedIds(String category, String column, String direction, int offset, int limit) {
+        String order = " ORDER BY " + column + " " + direction + ", id " + direction + " LIMIT ? OFFSET ?";
+        return category == null
+                ? jdbcTemplate.queryForList("SELECT id FROM products" + order, Long.class, limit, offset)
+                : jdbcTemplate.queryForList("SELECT id FROM products WHERE category = ?" + order, Long.class,
+                        category, limit, offset);
+    }
+
+    private static void assertSortedWithIdTieBreak(List<ProductWithRatingDTO> content, String column, String direction) {
+        int sign = direction.equals("ASC") ? 1 : -1;
+        for (int i = 1; i < content.size(); i++) {
+            ProductWithRatingDTO previous = content.get(i - 1);
+            ProductWithRatingDTO current = content.get(i);
+            int byKey = column.equals("price")
+                    ? previous.getProduct().getPrice().compareTo(current.getProduct().getPrice())
+                    : Double.compare(previous.getProduct().getAverageRating(), current.getProduct().getAverageRating());
+            assertThat(sign * byKey).isLessThanOrEqualTo(0);
+            if (byKey == 0) {
+                assertThat(sign * previous.getProduct().getId().compareTo(current.getProduct().getId())).isNegative();
+            }
+        }
+    }
+
+}
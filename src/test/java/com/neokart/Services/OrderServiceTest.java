@@ -0,0 +1,164 @@
+package com.neokart.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neokart.MySqlContainerTest;
+import com.neokart.DTO.OrderItemDto;
+import com.neokart.DTO.ShippingAddressDto;
+import com.neokart.Entity.Order;
+import com.neokart.Entity.OrderItem;
+import com.neokart.Entity.User;
+import com.neokart.Enum.Role;
+import com.neokart.Repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * createOrder sends the same number of statements to MySQL whatever the item
+ * count: the items go in as one JDBC batch, which Connector/J rewrites into a
+ * single multi-row INSERT. Counted with the server's own per-session
+ * "Questions" counter, so nothing the driver or Hibernate sends is missed.
+ */
+@Import({ OrderService.class, StockReservationService.class, OutboxService.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class OrderServiceTest extends MySqlContainerTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void statementCountDoesNotGrowWithItems() {
+        long single = statementsFor(1);
+        long many = statementsFor(20);
+
+        assertThat(single).isPositive();
+        assertThat(many).isEqualTo(single);
+    }
+
+    @Test
+    void itemsAreStoredWithIdsAndStockIsTaken() {
+        String email = insertUser();
+        List<Long> productIds = insertProducts(5, 100);
+
+        Order order = transactionTemplate.execute(status ->
+                orderService.createOrder(email, items(productIds, 2), shipping()));
+
+        assertThat(order.getItems()).hasSize(5).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+        assertThat(order.getItems()).extracting(OrderItem::getId).doesNotHaveDuplicates();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_item WHERE order_id = ?",
+                Integer.class, order.getId())).isEqualTo(5);
+        assertThat(order.getTotalPrice()).isEqualByComparingTo("99.90");
+        for (Long productId : productIds) {
+            assertThat(jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?",
+                    Integer.class, productId)).isEqualTo(98);
+        }
+    }
+
+    // ===============================
+    // 🔹 Helpers
+    // ===============================
+
+    // Statements sent on the order's connection between start of createOrder and the final flush
+    private long statementsFor(int itemCount) {
+        String email = insertUser();
+        List<Long> productIds = insertProducts(itemCount, 100);
+
+        return transactionTemplate.execute(status -> {
+            long before = questions();
+            Order order = orderService.createOrder(email, items(productIds, 1), shipping());
+            entityManager.flush();
+            long after = questions();
+
+            assertThat(order.getItems()).hasSize(itemCount);
+            // The SHOW STATUS that took the first reading is counted in the second
+            return after - before - 1;
+        });
+    }
+
+    // Same connection as the surrounding transaction, so it's that session's counter
+    private long questions() {
+        return jdbcTemplate.query("SHOW SESSION STATUS LIKE 'Questions'",
+                rs -> { rs.next(); return rs.getLong(2); });
+    }
+
+    private static List<OrderItemDto> items(List<Long> productIds, int quantity) {
+        List<OrderItemDto> items = new ArrayList<>();
+        for (Long productId : productIds) {
+            OrderItemDto item = new OrderItemDto();
+            item.setProductId(productId);
+            item.setQuantity(quantity);
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static ShippingAddressDto shipping() {
+        return new ShippingAddressDto("Test Buyer", "buyer@example.com", "5550100", "1 Main St",
+                "Springfield", "IL", "62701", "US");
+    }
+
+    private String insertUser() {
+        String email = "buyer-" + UUID.randomUUID() + "@example.com";
+        userRepository.save(User.builder()
+                .name("Test Buyer")
+                .email(email)
+                .password("secret")
+                .phone("5550100")
+                .role(Role.USER)
+                .verified(true)
+                .provider("LOCAL")
+                .createdAt(LocalDateTime.now())
+                .build());
+        return email;
+    }
+
+    private List<Long> insertProducts(int count, int stock) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            int n = i;
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement("""
+                        INSERT INTO products (name, price, stock, rating_count, rating_sum, average_rating)
+                        VALUES (?, ?, ?, 0, 0, 0)
+                        """, new String[] { "id" });
+                ps.setString(1, "Product " + n);
+                ps.setBigDecimal(2, new BigDecimal("9.99"));
+                ps.setInt(3, stock);
+                return ps;
+            }, keyHolder);
+            ids.add(keyHolder.getKey().longValue());
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.neokart.Services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.neokart.Config.ExecutorConfig;
+
+/**
+ * Parse + validate throughput of the CSV import (CsvReader and the parallel
+ * validation stage, no database) on a 1M-row synthetic file, in rows/sec.
+ * About 1% of the rows are invalid, and descriptions carry quoted commas,
+ * escaped quotes and line breaks.
+ *
+ * Not part of the test run. Start it with
+ *   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.neokart.Services.ProductCsvImportBenchmark
+ * or run main() from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class ProductCsvImportBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    private Path csv;
+    private ThreadPoolTaskExecutor validationExecutor;
+    private ProductCsvImporter importer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csv = Files.createTempFile("neokart-bench-", ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            out.write("name,description,price,stock,sku,category,subCategory,imageUrls\n");
+            for (int i = 0; i < ROWS; i++) out.write(row(i));
+        }
+
+        // Same pool the application uses (one thread per core, bounded queue, caller runs)
+        validationExecutor = new ExecutorConfig().importValidationExecutor(0);
+        validationExecutor.initialize();
+
+        importer = new ProductCsvImporter();
+        ReflectionTestUtils.setField(importer, "validationExecutor", validationExecutor);
+        ReflectionTestUtils.setField(importer, "chunkSize", 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        validationExecutor.shutdown();
+        Files.deleteIfExists(csv);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long parseAndValidate(Blackhole blackhole) throws IOException {
+        try (InputStream in = Files.newInputStream(csv)) {
+            return importer.readChunks(in, 0, chunk -> {
+                blackhole.consume(chunk.rows);
+                blackhole.consume(chunk.rejected);
+            });
+        }
+    }
+
+    private static String row(int i) {
+        String price = switch (i % 4) {
+            case 0 -> "499";
+            case 1 -> "\"₹1,299.00\"";
+            case 2 -> "$12.50";
+            default -> "89.99";
+        };
+        // Every hundredth row is rejected: negative stock
+        String stock = i % 100 == 99 ? "-3" : String.valueOf(i % 500);
+        String description = i % 10 == 0
+                ? "\"Sturdy, light and \"\"waterproof\"\".\nShips in 2 days, free returns.\""
+                : "\"Everyday item " + i + ", good value\"";
+        return "Product " + i + "," + description + "," + price + "," + stock + ",SKU-" + i
+                + ",Category " + (i % 20) + ",Sub " + (i % 7)
+                + ",\"/uploads/" + i + "-a.jpg;/uploads/" + i + "-b.jpg\"\n";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProductCsvImportBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.neokart.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neokart.MySqlContainerTest;
+import com.neokart.DTO.ProductSummaryDto;
+import com.neokart.Entity.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * List endpoints (/all, /category/{category}, /category/{category}/{sub})
+ * return column projections. Each response is measured the way a request
+ * sees it: the service call plus Jackson serialization inside one
+ * transaction (open-in-view), counting statements with the session's
+ * "Questions" counter and bytes of the JSON body. The "before" figures
+ * serialize the full Product entities those endpoints used to return.
+ */
+@Import(ProductService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ProductListEndpointsTest extends MySqlContainerTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Not involved in list views
+    @MockitoBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockitoBean
+    private ProductSuggestIndex productSuggestIndex;
+
+    @MockitoBean
+    private CategoryTreeCache categoryTreeCache;
+
+    @MockitoBean
+    private RelatedProductsCache relatedProductsCache;
+
+    @MockitoBean
+    private ProductDetailCache productDetailCache;
+
+    @MockitoBean
+    private ProductImageStorage productImageStorage;
+
+    private record Measurement(long statements, int bytes) {
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithListSize() {
+        String few = seedCategory(1);
+        String many = seedCategory(40);
+
+        assertThat(measure(() -> productService.getProductsByCategory(many)).statements())
+                .isEqualTo(measure(() -> productService.getProductsByCategory(few)).statements());
+        assertThat(measure(() -> productService.getProductsByCategoryAndSubcategory(many, "Sub")).statements())
+                .isEqualTo(measure(() -> productService.getProductsByCategoryAndSubcategory(few, "Sub")).statements());
+        assertThat(measure(() -> productService.getAllProducts()).statements()).isEqualTo(1);
+    }
+
+    @Test
+    void summariesAreSmallerAndCheaperThanEntities() {
+        String category = seedCategory(40);
+
+        Measurement before = measure(() -> entityManager
+                .createQuery("SELECT p FROM Product p WHERE p.category = :category ORDER BY p.id", Product.class)
+                .setParameter("category", category)
+                .getResultList());
+        Measurement after = measure(() -> productService.getProductsByCategory(category));
+
+        System.out.println("📏 /category/" + category + " with 40 products: entities " + before.bytes() + " bytes in "
+                + before.statements() + " statements, summaries " + after.bytes() + " bytes in "
+                + after.statements() + " statements");
+        assertThat(after.statements()).isEqualTo(1);
+        assertThat(before.statements()).isGreaterThan(40);
+        assertThat(after.bytes()).isLessThan(before.bytes());
+    }
+
+    // What list pages (ProductCard, SubCategoryPage, AdminProductList) render from
+    @Test
+    void summariesCarryPrimaryImageAndSku() {
+        String category = seedCategory(3);
+
+        List<ProductSummaryDto> summaries = productService.getProductsByCategory(category);
+
+        assertThat(summaries).hasSize(3).allSatisfy(summary -> {
+            assertThat(summary.getImageUrl()).isEqualTo("/uploads/thumb-" + summary.getSku() + ".jpg");
+            assertThat(summary.getSku()).startsWith("SKU-");
+            assertThat(summary.getSubCategory()).isEqualTo("Sub");
+        });
+    }
+
+    // ===============================
+    // 🔹 Helpers
+    // ===============================
+
+    // Statements and JSON bytes for one "request", minus the SHOW STATUS that took the first reading
+    private Measurement measure(Supplier<Object> request) {
+        return transactionTemplate.execute(status -> {
+            long before = questions();
+            byte[] body;
+            try {
+                body = objectMapper.writeValueAsBytes(request.get());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+            long after = questions();
+            return new Measurement(after - before - 1, body.length);
+        });
+    }
+
+    // Same connection as the surrounding transaction, so it's that session's counter
+    private long questions() {
+        return jdbcTemplate.query("SHOW SESSION STATUS LIKE 'Questions'",
+                rs -> { rs.next(); return rs.getLong(2); });
+    }
+
+    // Products in a fresh category, each with a primary image (with thumbnail) and a second image
+    private String seedCategory(int products) {
+        String category = "List-" + UUID.randomUUID();
+        for (int i = 0; i < products; i++) {
+            String sku = "SKU-" + UUID.randomUUID();
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            int n = i;
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement("""
+                        INSERT INTO products (name, description, price, stock, sku, category, sub_category,
+                                              rating_count, rating_sum, average_rating)
+                        VALUES (?, ?, ?, 10, ?, ?, 'Sub', 0, 0, 0)
+                        """, new String[] { "id" });
+                ps.setString(1, "Listed product " + n);
+                ps.setString(2, "A reasonably long description, as real catalog entries have. ".repeat(4));
+                ps.setBigDecimal(3, new BigDecimal("19.99"));
+                ps.setString(4, sku);
+                ps.setString(5, category);
+                return ps;
+            }, keyHolder);
+            long productId = keyHolder.getKey().longValue();
+
+            jdbcTemplate.update("""
+                    INSERT INTO product_images (image_url, thumbnail_url, medium_url, large_url, is_primary, product_id)
+                    VALUES (?, ?, ?, ?, TRUE, ?)
+                    """, "/uploads/" + sku + ".jpg", "/uploads/thumb-" + sku + ".jpg",
+                    "/uploads/medium-" + sku + ".jpg", "/uploads/large-" + sku + ".jpg", productId);
+            jdbcTemplate.update("""
+                    INSERT INTO product_images (image_url, is_primary, product_id)
+                    VALUES (?, FALSE, ?)
+                    """, "/uploads/" + sku + "-side.jpg", productId);
+        }
+        return category;
+    }
+
+}
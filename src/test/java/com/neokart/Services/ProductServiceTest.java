@@ -0,0 +1,122 @@
+package com.neokart.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neokart.MySqlContainerTest;
+import com.neokart.DTO.ProductWithRatingDTO;
+
+/**
+ * The paged catalog reads rating aggregates from the product rows, so a page
+ * costs the same number of statements whatever its size: the page query and
+ * its count, no per-product rating lookups. Counted with the server's
+ * per-session "Questions" counter.
+ */
+@Import(ProductService.class)
+class ProductServiceTest extends MySqlContainerTest {
+
+    private static final String CATEGORY = "Paging";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Not involved in catalog paging
+    @MockitoBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockitoBean
+    private ProductSuggestIndex productSuggestIndex;
+
+    @MockitoBean
+    private CategoryTreeCache categoryTreeCache;
+
+    @MockitoBean
+    private RelatedProductsCache relatedProductsCache;
+
+    @MockitoBean
+    private ProductDetailCache productDetailCache;
+
+    @MockitoBean
+    private ProductImageStorage productImageStorage;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM products WHERE category = ?", CATEGORY);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            long count = i % 7;
+            long sum = count * (1 + i % 5);
+            rows.add(new Object[] { "Paged product " + i, new BigDecimal("10.00").add(BigDecimal.valueOf(i)),
+                    10, CATEGORY, count, sum, count == 0 ? 0.0 : (double) sum / count });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO products (name, price, stock, category, rating_count, rating_sum, average_rating)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithPageSize() {
+        long small = statementsFor(1);
+        long usual = statementsFor(12);
+        long large = statementsFor(100);
+
+        assertThat(small).isPositive();
+        assertThat(usual).isEqualTo(small);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void pageCarriesStoredAggregates() {
+        Page<ProductWithRatingDTO> page = productService.getFilteredAndSortedProducts(CATEGORY, "rating_desc", 0, 50);
+
+        assertThat(page.getContent()).hasSize(50);
+        assertThat(page.getTotalElements()).isEqualTo(120);
+        for (ProductWithRatingDTO dto : page.getContent()) {
+            assertThat(dto.getAverageRating()).isEqualTo(dto.getProduct().getAverageRating());
+            assertThat(dto.getRatingCount()).isEqualTo(dto.getProduct().getRatingCount());
+        }
+    }
+
+    // ===============================
+    // 🔹 Helpers
+    // ===============================
+
+    private long statementsFor(int pageSize) {
+        return transactionTemplate.execute(status -> {
+            long before = questions();
+            Page<ProductWithRatingDTO> page =
+                    productService.getFilteredAndSortedProducts(CATEGORY, "rating_desc", 0, pageSize);
+            long after = questions();
+
+            assertThat(page.getContent()).hasSize(pageSize);
+            // The SHOW STATUS that took the first reading is counted in the second
+            return after - before - 1;
+        });
+    }
+
+    // Same connection as the surrounding transaction, so it's that session's counter
+    private long questions() {
+        return jdbcTemplate.query("SHOW SESSION STATUS LIKE 'Questions'",
+                rs -> { rs.next(); return rs.getLong(2); });
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.neokart.Services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neokart.MySqlContainerTest;
+
+/**
+ * Many checkouts racing for the last units: the conditional UPDATE must never
+ * take more than there is, and orders listing the same products in opposite
+ * order must not deadlock.
+ */
+@Import(StockReservationService.class)
+class StockReservationServiceTest extends MySqlContainerTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentCheckoutsNeverOversell() throws Exception {
+        long productId = insertProduct(5);
+
+        Race race = race(i -> Map.of(productId, 1));
+
+        assertThat(race.unexpected).isEmpty();
+        assertThat(race.succeeded).isEqualTo(5);
+        assertThat(stockOf(productId)).isZero();
+    }
+
+    @Test
+    void concurrentMultiUnitCheckoutsNeverOversell() throws Exception {
+        long productId = insertProduct(10);
+
+        // 1, 2 or 3 units each: whatever the interleaving, sold + left == initial and left >= 0
+        Race race = race(i -> Map.of(productId, 1 + i % 3));
+
+        assertThat(race.unexpected).isEmpty();
+        int sold = race.soldOf(productId);
+        assertThat(sold).isLessThanOrEqualTo(10);
+        assertThat(stockOf(productId)).isEqualTo(10 - sold).isNotNegative();
+    }
+
+    @Test
+    void oppositeProductOrderDoesNotDeadlock() throws Exception {
+        long first = insertProduct(10);
+        long second = insertProduct(10);
+
+        Race race = race(i -> i % 2 == 0 ? ordered(first, second) : ordered(second, first));
+
+        // A deadlock or lock wait timeout would show up here instead of as "Not enough stock"
+        assertThat(race.unexpected).isEmpty();
+        assertThat(race.succeeded).isEqualTo(10);
+        assertThat(stockOf(first)).isZero();
+        assertThat(stockOf(second)).isZero();
+    }
+
+    @Test
+    void shortOrderReservesNothing() {
+        long plenty = insertProduct(5);
+        long scarce = insertProduct(1);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                stockReservationService.reserve(Map.of(plenty, 2, scarce, 2))))
+                .hasMessageContaining("Not enough stock")
+                .hasMessageContaining(String.valueOf(scarce));
+
+        assertThat(stockOf(plenty)).isEqualTo(5);
+        assertThat(stockOf(scarce)).isEqualTo(1);
+    }
+
+    @Test
+    void releaseReturnsUnits() {
+        long productId = insertProduct(4);
+
+        transactionTemplate.executeWithoutResult(status -> stockReservationService.reserve(Map.of(productId, 3)));
+        transactionTemplate.executeWithoutResult(status -> stockReservationService.release(Map.of(productId, 3)));
+
+        assertThat(stockOf(productId)).isEqualTo(4);
+    }
+
+    // ===============================
+    // 🔹 Helpers
+    // ===============================
+
+    private static class Race {
+        int succeeded;
+        final List<Map<Long, Integer>> reserved = new ArrayList<>();
+        final List<Throwable> unexpected = new ArrayList<>();
+
+        int soldOf(long productId) {
+            return reserved.stream().mapToInt(order -> order.getOrDefault(productId, 0)).sum();
+        }
+    }
+
+    // Every thread starts its checkout transaction at the same moment
+    private Race race(IntFunction<Map<Long, Integer>> orderOf) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Map<Long, Integer>> orders = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                Map<Long, Integer> order = orderOf.apply(i);
+                orders.add(order);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> stockReservationService.reserve(order));
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            Race race = new Race();
+            for (int i = 0; i < THREADS; i++) {
+                try {
+                    futures.get(i).get(60, TimeUnit.SECONDS);
+                    race.succeeded++;
+                    race.reserved.add(orders.get(i));
+                } catch (java.util.concurrent.ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause.getMessage() == null || !cause.getMessage().contains("Not enough stock")) {
+                        race.unexpected.add(cause);
+                    }
+                }
+            }
+            return race;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Map<Long, Integer> ordered(long first, long second) {
+        Map<Long, Integer> order = new LinkedHashMap<>();
+        order.put(first, 1);
+        order.put(second, 1);
+        return order;
+    }
+
+    private long insertProduct(int stock) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    INSERT INTO products (name, price, stock, rating_count, rating_sum, average_rating)
+                    VALUES (?, ?, ?, 0, 0, 0)
+                    """, new String[] { "id" });
+            ps.setString(1, "Flash sale item");
+            ps.setBigDecimal(2, new BigDecimal("9.99"));
+            ps.setInt(3, stock);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    private int stockOf(long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.neokart.Storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * S3BlobStore against a real S3 implementation (MinIO): header-signed PUT,
+ * GET, HEAD and DELETE, and presigned URLs fetched by a client holding no
+ * credentials. Skipped when Docker isn't available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3BlobStoreMinioTest {
+
+    private static final String BUCKET = "neokart-images";
+
+    @Container
+    static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+
+    private static S3BlobStore store;
+
+    private final HttpClient anonymous = HttpClient.newHttpClient();
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void createBucket() throws Exception {
+        store = new S3BlobStore(URI.create(MINIO.getS3URL()), BUCKET, "us-east-1",
+                MINIO.getUserName(), MINIO.getPassword());
+
+        HttpRequest request = store.signed("PUT", URI.create(MINIO.getS3URL() + "/" + BUCKET))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        assertThat(HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode())
+                .isEqualTo(200);
+    }
+
+    @Test
+    void roundTripsAnObject() throws IOException {
+        // Slashes, a space and a non-ASCII character exercise the canonical URI encoding
+        String key = "ab/ab12 ä.jpg";
+        store.put(key, file("jpeg bytes"));
+
+        assertThat(store.exists(key)).isTrue();
+        try (InputStream in = store.open(key)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("jpeg bytes");
+        }
+
+        store.delete(key);
+        assertThat(store.exists(key)).isFalse();
+    }
+
+    @Test
+    void missingObjects() throws IOException {
+        assertThat(store.exists("no/such.jpg")).isFalse();
+        assertThatThrownBy(() -> store.open("no/such.jpg")).isInstanceOf(NoSuchFileException.class);
+        store.delete("no/such.jpg"); // not an error
+    }
+
+    @Test
+    void putReplacesAnExistingObject() throws IOException {
+        store.put("cd/replace.png", file("first"));
+        store.put("cd/replace.png", file("second"));
+
+        try (InputStream in = store.open("cd/replace.png")) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("second");
+        }
+    }
+
+    @Test
+    void presignedUrlWorksWithoutCredentials() throws Exception {
+        store.put("ef/presigned.jpg", file("served by the store"));
+
+        URI url = store.presignedGet("ef/presigned.jpg", Duration.ofMinutes(5)).orElseThrow();
+        HttpResponse<String> response = anonymous.send(HttpRequest.newBuilder(url).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("served by the store");
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("image/jpeg");
+    }
+
+    @Test
+    void tamperedPresignedUrlIsRejected() throws Exception {
+        store.put("ef/tampered.jpg", file("secret"));
+
+        URI url = store.presignedGet("ef/tampered.jpg", Duration.ofMinutes(5)).orElseThrow();
+        URI otherObject = URI.create(url.toString().replace("tampered.jpg", "presigned.jpg"));
+        HttpResponse<String> response = anonymous.send(HttpRequest.newBuilder(otherObject).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(403);
+    }
+
+    @Test
+    void unsignedRequestsAreRejected() throws Exception {
+        store.put("gh/private.jpg", file("private"));
+
+        HttpResponse<String> response = anonymous.send(
+                HttpRequest.newBuilder(URI.create(MINIO.getS3URL() + "/" + BUCKET + "/gh/private.jpg")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(403);
+    }
+
+    private Path file(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(tempDir, "blob", ".tmp"), content);
+    }
+
+}